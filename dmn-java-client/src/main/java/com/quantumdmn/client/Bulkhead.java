@@ -0,0 +1,249 @@
+package com.quantumdmn.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent evaluations issued for one project.
+ *
+ * <p>Up to {@code maxConcurrent} calls run at once; up to {@code maxQueue} further calls wait in FIFO
+ * order for at most {@code maxWait}. Calls beyond that, or calls that wait too long, fail with a
+ * {@link BulkheadFullException} instead of tying up threads and connections shared with other
+ * projects. Blocking and asynchronous calls share the same permits.</p>
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Duration maxWait;
+
+    private final ArrayDeque<CompletableFuture<Void>> queue = new ArrayDeque<>();
+    private int active;
+
+    /**
+     * @param name          Name used in rejection messages (e.g. the project)
+     * @param maxConcurrent Maximum number of calls running at once
+     * @param maxQueue      Maximum number of calls waiting for a permit
+     * @param maxWait       Maximum time a call waits for a permit
+     */
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        if (maxQueue < 0) {
+            throw new IllegalArgumentException("maxQueue must not be negative");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Returns the number of calls currently holding a permit.
+     */
+    public synchronized int getActiveCount() {
+        return active;
+    }
+
+    /**
+     * Returns the number of calls currently waiting for a permit.
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Blocks until a permit is available. Every successful call must be paired with {@link #release()}.
+     *
+     * @throws BulkheadFullException if the queue is full or the wait times out
+     * @throws ApiException          if the thread is interrupted while waiting
+     */
+    public void acquire() throws ApiException {
+        CompletableFuture<Void> grant = acquireAsync();
+        try {
+            grant.get();
+        } catch (InterruptedException e) {
+            if (!grant.cancel(false)) {
+                // the permit was granted concurrently, hand it back
+                release();
+            }
+            Thread.currentThread().interrupt();
+            throw new ApiException(e);
+        } catch (ExecutionException e) {
+            throw (BulkheadFullException) e.getCause();
+        }
+    }
+
+    /**
+     * Runs a blocking call while holding a permit.
+     *
+     * @throws BulkheadFullException if no permit is available in time
+     */
+    public <T> T execute(Call<T> call) throws ApiException {
+        acquire();
+        try {
+            return call.call();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Runs {@code call} through {@code bulkhead}, or directly if there is none.
+     */
+    static <T> T execute(Bulkhead bulkhead, Call<T> call) throws ApiException {
+        return bulkhead == null ? call.call() : bulkhead.execute(call);
+    }
+
+    /**
+     * Runs {@code call} through {@code bulkhead}, or directly if there is none.
+     */
+    static <T> CompletableFuture<T> executeAsync(Bulkhead bulkhead, Supplier<CompletableFuture<T>> call) {
+        return bulkhead == null ? call.get() : bulkhead.executeAsync(call);
+    }
+
+    /**
+     * Returns a permit taken with {@link #acquire()}.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+            // the permit passes straight to the next waiter; skip waiters that timed out or were cancelled
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs an asynchronous call once a permit is available and releases it when the call completes.
+     * Cancelling the returned future removes a queued call or cancels the running one.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Void> grant = acquireAsync();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        grant.whenComplete((ignored, rejection) -> {
+            if (rejection != null) {
+                if (!(rejection instanceof CancellationException)) {
+                    result.completeExceptionally(rejection);
+                }
+                return;
+            }
+            if (result.isDone()) {
+                release();
+                return;
+            }
+            CompletableFuture<T> running;
+            try {
+                running = call.get();
+            } catch (RuntimeException e) {
+                release();
+                result.completeExceptionally(e);
+                return;
+            }
+            running.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(EvaluationTransport.unwrap(error));
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (error instanceof CancellationException) {
+                    running.cancel(true);
+                }
+            });
+        });
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                grant.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns a future completed once a permit is held, or failed with a {@link BulkheadFullException}.
+     * Cancelling a queued future gives up its place in the queue.
+     */
+    private CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> grant;
+        synchronized (this) {
+            if (active < maxConcurrent) {
+                active++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (queue.size() >= maxQueue) {
+                return CompletableFuture.failedFuture(
+                    new BulkheadFullException("Bulkhead '" + name + "' is full (" + maxConcurrent + " running, " + maxQueue + " queued)"));
+            }
+            grant = new CompletableFuture<>();
+            queue.add(grant);
+        }
+        CompletableFuture.delayedExecutor(maxWait.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            synchronized (this) {
+                queue.remove(grant);
+            }
+            grant.completeExceptionally(new BulkheadFullException("Timed out after " + maxWait + " waiting for bulkhead '" + name + "'"));
+        });
+        grant.whenComplete((ignored, error) -> {
+            if (error != null) {
+                synchronized (this) {
+                    queue.remove(grant);
+                }
+            }
+        });
+        return grant;
+    }
+
+    /**
+     * A blocking call run under a permit.
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws ApiException;
+    }
+
+    /**
+     * Thrown when a call is rejected by a {@link Bulkhead}.
+     */
+    public static class BulkheadFullException extends ApiException {
+
+        private static final long serialVersionUID = 1L;
+
+        public BulkheadFullException(String message) {
+            super(message);
+        }
+    }
+}
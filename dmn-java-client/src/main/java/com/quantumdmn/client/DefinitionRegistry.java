@@ -0,0 +1,370 @@
+package com.quantumdmn.client;
+
+import com.quantumdmn.client.api.DefaultApi;
+import com.quantumdmn.client.model.Definition;
+import com.quantumdmn.client.model.PaginatedDefinitionsResponse;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Client-side cache of definition metadata and XML.
+ *
+ * <p>Concrete versions are immutable on the server and are cached per (project, xmlId, version) for the
+ * lifetime of the registry. "Latest" is pinned to a concrete version and re-resolved once it is older
+ * than the staleness window, or earlier when {@link #refresh(UUID)} (manually or in the background via
+ * {@link #startBackgroundRefresh(UUID, Duration)}) observes a newer version. A stale pin keeps being
+ * served while a single request re-resolves it, so lookups never block on a refresh. The pin only moves
+ * forward: an answer with an older version than the pinned one (for example from a lagging replica) is
+ * ignored, and every version increase is published to registered {@link DefinitionListener}s.</p>
+ *
+ * <pre>{@code
+ * DefinitionRegistry registry = new DefinitionRegistry(service, Duration.ofSeconds(30));
+ * registry.startBackgroundRefresh(projectId, Duration.ofMinutes(1));
+ * DmnEngine engine = new DmnEngine(service, projectId.toString(), registry);
+ * }</pre>
+ */
+public class DefinitionRegistry implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(DefinitionRegistry.class.getName());
+    private static final int PAGE_SIZE = 100;
+
+    private final DefaultApi api;
+    private final EvaluationTransport transport;
+    private final long staleAfterNanos;
+    private final Map<VersionKey, Definition> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, Definition> byId = new ConcurrentHashMap<>();
+    private final Map<LatestKey, Pin> latest = new ConcurrentHashMap<>();
+    private final Map<Object, CompletableFuture<Definition>> inFlight = new ConcurrentHashMap<>();
+    private final List<DefinitionListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<UUID, ScheduledFuture<?>> refreshes = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a registry that re-resolves "latest" every 30 seconds.
+     */
+    public DefinitionRegistry(DmnService service) {
+        this(service, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Creates a registry.
+     *
+     * @param service    The service used to fetch definitions
+     * @param staleAfter How long a resolved "latest" version may be used before it is re-resolved
+     */
+    public DefinitionRegistry(DmnService service, Duration staleAfter) {
+        this.api = service.getApi();
+        this.transport = service.getTransport();
+        this.staleAfterNanos = staleAfter.toNanos();
+    }
+
+    /**
+     * Returns a definition by XML ID, from cache when possible.
+     *
+     * <p>A "latest" pin older than the staleness window is still returned while one background
+     * request re-resolves it; only lookups without any cached value wait for the server.</p>
+     *
+     * @param projectId The DMN project
+     * @param xmlId     The XML definition ID
+     * @param version   A concrete version, or {@code null} for the (pinned) latest version
+     * @throws ApiException if the definition has to be fetched and the request fails
+     */
+    public Definition getDefinition(UUID projectId, String xmlId, Integer version) throws ApiException {
+        CompletableFuture<Definition> definition = getDefinitionAsync(projectId, xmlId, version);
+        try {
+            return definition.join();
+        } catch (CompletionException e) {
+            Throwable cause = EvaluationTransport.unwrap(e);
+            throw cause instanceof ApiException apiException ? apiException : new ApiException(cause);
+        }
+    }
+
+    /**
+     * Returns a definition by XML ID without blocking the calling thread.
+     *
+     * <p>Cached definitions complete immediately. Concurrent lookups of the same uncached definition
+     * share one request, and a stale "latest" pin is served while a single refresh runs in the
+     * background.</p>
+     *
+     * @param version A concrete version, or {@code null} for the (pinned) latest version
+     * @return future completed with the definition, or exceptionally with an {@link ApiException}
+     */
+    public CompletableFuture<Definition> getDefinitionAsync(UUID projectId, String xmlId, Integer version) {
+        if (version != null) {
+            Definition cached = versions.get(new VersionKey(projectId, xmlId, version));
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return fetch(new VersionKey(projectId, xmlId, version), projectId, xmlId, version);
+        }
+
+        LatestKey key = new LatestKey(projectId, xmlId);
+        Pin pin = latest.get(key);
+        if (pin == null) {
+            return fetch(key, projectId, xmlId, null);
+        }
+        if (System.nanoTime() - pin.resolvedAt >= staleAfterNanos) {
+            fetch(key, projectId, xmlId, null).exceptionally(e -> {
+                LOG.log(Level.WARNING, "Failed to re-resolve latest version of " + xmlId + ", keeping version "
+                    + pin.definition.getVersion(), EvaluationTransport.unwrap(e));
+                return null;
+            });
+        }
+        return CompletableFuture.completedFuture(pin.definition);
+    }
+
+    /**
+     * Starts a lookup unless one for the same key is already running.
+     */
+    private CompletableFuture<Definition> fetch(Object key, UUID projectId, String xmlId, Integer version) {
+        CompletableFuture<Definition> running = inFlight.get(key);
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<Definition> started = new CompletableFuture<>();
+        running = inFlight.putIfAbsent(key, started);
+        if (running != null) {
+            return running;
+        }
+        HttpRequest request = transport.newGet(transport.definitionByXmlIdUri(projectId, xmlId, version));
+        transport.sendAsync(request, "getDefinitionByXMLID", body -> transport.getObjectMapper().readValue(body, Definition.class))
+            .whenComplete((definition, error) -> {
+                if (error == null) {
+                    store(projectId, definition);
+                    if (version == null) {
+                        pinLatest(projectId, definition);
+                    }
+                }
+                inFlight.remove(key, started);
+                if (error != null) {
+                    started.completeExceptionally(EvaluationTransport.unwrap(error));
+                } else {
+                    started.complete(definition);
+                }
+            });
+        return started;
+    }
+
+    /**
+     * Returns a definition by its UUID, from cache when possible.
+     *
+     * @throws ApiException if the definition has to be fetched and the request fails
+     */
+    public Definition getDefinitionById(UUID projectId, UUID definitionId) throws ApiException {
+        Definition cached = byId.get(definitionId);
+        if (cached != null) {
+            return cached;
+        }
+        Definition fetched = api.getDefinition(projectId, definitionId);
+        store(projectId, fetched);
+        return fetched;
+    }
+
+    /**
+     * Returns the DMN XML of a definition, from cache when possible.
+     *
+     * @param version A concrete version, or {@code null} for the (pinned) latest version
+     * @throws ApiException if the definition has to be fetched and the request fails
+     */
+    public String getXml(UUID projectId, String xmlId, Integer version) throws ApiException {
+        return getDefinition(projectId, xmlId, version).getXml();
+    }
+
+    /**
+     * Reloads the latest version of every definition in a project with {@code ListLatestDefinitions}
+     * and publishes change events for versions that moved.
+     *
+     * @throws ApiException if a request fails
+     */
+    public void refresh(UUID projectId) throws ApiException {
+        int page = 1;
+        while (true) {
+            PaginatedDefinitionsResponse response = api.listLatestDefinitions(projectId, page, PAGE_SIZE);
+            for (Definition definition : response.getData()) {
+                store(projectId, definition);
+                pinLatest(projectId, definition);
+            }
+            if (page >= response.getPagination().getTotalPages()) {
+                return;
+            }
+            page++;
+        }
+    }
+
+    /**
+     * Periodically calls {@link #refresh(UUID)} on a daemon thread until the registry is closed.
+     * Failed refreshes are logged and retried on the next tick. Calling this again for the same project
+     * replaces its schedule.
+     */
+    public synchronized void startBackgroundRefresh(UUID projectId, Duration interval) {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dmn-definition-registry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        ScheduledFuture<?> previous = refreshes.put(projectId, scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh(projectId);
+            } catch (Exception e) {
+                LOG.log(Level.WARNING, "Failed to refresh definitions for project " + projectId, e);
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Stops the background refresh of a project started with {@link #startBackgroundRefresh(UUID, Duration)}.
+     */
+    public synchronized void stopBackgroundRefresh(UUID projectId) {
+        ScheduledFuture<?> refresh = refreshes.remove(projectId);
+        if (refresh != null) {
+            refresh.cancel(false);
+        }
+    }
+
+    /**
+     * Drops the pinned latest version of a definition so the next lookup re-resolves it.
+     */
+    public void invalidate(UUID projectId, String xmlId) {
+        latest.remove(new LatestKey(projectId, xmlId));
+    }
+
+    public void addListener(DefinitionListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeListener(DefinitionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops background refreshing. Cached definitions stay readable.
+     */
+    @Override
+    public synchronized void close() {
+        refreshes.clear();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void store(UUID projectId, Definition definition) {
+        versions.putIfAbsent(new VersionKey(projectId, definition.getDefinitionId(), definition.getVersion()), definition);
+        byId.putIfAbsent(definition.getId(), definition);
+    }
+
+    /**
+     * Pins {@code definition} as the latest version unless a newer one is already pinned, and publishes
+     * a change event when the pinned version increases.
+     */
+    private void pinLatest(UUID projectId, Definition definition) {
+        LatestKey key = new LatestKey(projectId, definition.getDefinitionId());
+        Pin[] replaced = new Pin[1];
+        latest.compute(key, (k, current) -> {
+            if (current != null && isOlder(definition, current.definition)) {
+                return current;
+            }
+            replaced[0] = current;
+            return new Pin(definition, System.nanoTime());
+        });
+        Pin previous = replaced[0];
+        if (previous != null && isOlder(previous.definition, definition)) {
+            Integer previousVersion = previous.definition.getVersion();
+            DefinitionChangeEvent event = new DefinitionChangeEvent(projectId, definition.getDefinitionId(), previousVersion, definition);
+            for (DefinitionListener listener : listeners) {
+                try {
+                    listener.onDefinitionChanged(event);
+                } catch (RuntimeException e) {
+                    LOG.log(Level.WARNING, "Definition listener failed", e);
+                }
+            }
+        }
+    }
+
+    private static boolean isOlder(Definition definition, Definition than) {
+        Integer version = definition.getVersion();
+        Integer other = than.getVersion();
+        return version != null && other != null && version < other;
+    }
+
+    private record VersionKey(UUID projectId, String xmlId, Integer version) {}
+
+    private record LatestKey(UUID projectId, String xmlId) {}
+
+    private record Pin(Definition definition, long resolvedAt) {}
+
+    /**
+     * Receives notifications when the latest version of a definition changes.
+     */
+    @FunctionalInterface
+    public interface DefinitionListener {
+        void onDefinitionChanged(DefinitionChangeEvent event);
+    }
+
+    /**
+     * Describes a change of the latest version of a definition.
+     */
+    public static class DefinitionChangeEvent {
+
+        private final UUID projectId;
+        private final String xmlId;
+        private final Integer previousVersion;
+        private final Definition definition;
+
+        public DefinitionChangeEvent(UUID projectId, String xmlId, Integer previousVersion, Definition definition) {
+            this.projectId = projectId;
+            this.xmlId = xmlId;
+            this.previousVersion = previousVersion;
+            this.definition = definition;
+        }
+
+        public UUID getProjectId() {
+            return projectId;
+        }
+
+        public String getXmlId() {
+            return xmlId;
+        }
+
+        /**
+         * Returns the version that was pinned before this change.
+         */
+        public Integer getPreviousVersion() {
+            return previousVersion;
+        }
+
+        /**
+         * Returns the new latest definition.
+         */
+        public Definition getDefinition() {
+            return definition;
+        }
+
+        @Override
+        public String toString() {
+            return "DefinitionChangeEvent{projectId=" + projectId + ", xmlId=" + xmlId
+                + ", previousVersion=" + previousVersion + ", version=" + definition.getVersion() + "}";
+        }
+    }
+}
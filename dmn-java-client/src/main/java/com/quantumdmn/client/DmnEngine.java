@@ -1,13 +1,19 @@
 package com.quantumdmn.client;
 
 import com.quantumdmn.client.api.DefaultApi;
+import com.quantumdmn.client.model.EvaluateDesignRequest;
 import com.quantumdmn.client.model.EvaluateStoredRequest;
 import com.quantumdmn.client.model.EvaluationResult;
+import com.quantumdmn.client.model.EvaluationResultGraph;
 import com.quantumdmn.client.model.FeelValue;
 
+import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 /**
  * High-level client for the QuantumDMN Engine.
@@ -16,14 +22,39 @@ import java.util.UUID;
 public class DmnEngine {
     
     private final DefaultApi api;
+    private final EvaluationTransport transport;
     private final UUID projectId;
+    private final DefinitionRegistry registry;
+    private final Bulkhead bulkhead;
 
     /**
      * Creates a new DmnEngine using an existing DmnService and Project ID.
      */
     public DmnEngine(DmnService service, String projectId) {
+        this(service, projectId, null);
+    }
+
+    /**
+     * Creates a new DmnEngine that resolves XML IDs through a {@link DefinitionRegistry}.
+     * Evaluations then address the cached definition UUID directly, so the server no longer resolves
+     * the XML ID and "latest" stays pinned to one version for the registry's staleness window.
+     */
+    public DmnEngine(DmnService service, String projectId, DefinitionRegistry registry) {
+        this(service, projectId, registry, null);
+    }
+
+    /**
+     * Creates a new DmnEngine whose evaluations are additionally limited by a per-project {@link Bulkhead}.
+     *
+     * @param registry Optional definition registry, may be {@code null}
+     * @param bulkhead Optional bulkhead, may be {@code null}
+     */
+    public DmnEngine(DmnService service, String projectId, DefinitionRegistry registry, Bulkhead bulkhead) {
         this.api = service.getApi();
+        this.transport = service.getTransport();
         this.projectId = UUID.fromString(projectId);
+        this.registry = registry;
+        this.bulkhead = bulkhead;
     }
     
     /**
@@ -43,11 +74,161 @@ public class DmnEngine {
      * @throws ApiException if the request fails
      */
     public Map<String, EvaluationResult> evaluate(String xmlId, Map<String, Object> evaluationContext, EvaluateOption... options) throws ApiException {
+        EvaluateConfig config = configure(options);
+        EvaluateStoredRequest request = buildRequest(evaluationContext, config);
+        return Bulkhead.execute(bulkhead, () -> evaluate(xmlId, request, config.version));
+    }
+
+    private Map<String, EvaluationResult> evaluate(String xmlId, EvaluateStoredRequest request, Integer version) throws ApiException {
+        if (registry != null) {
+            UUID definitionId = registry.getDefinition(projectId, xmlId, version).getId();
+            return (Map<String, EvaluationResult>) api.evaluateStored(projectId, definitionId, request);
+        }
+        return (Map<String, EvaluationResult>) api.evaluateByXMLID(projectId, xmlId, request, version);
+    }
+
+    /**
+     * Evaluates a decision definition and returns an indexed view of the result graph.
+     *
+     * <p>With {@link EvaluationResultGraph.ParseMode#DEFER} or {@link EvaluationResultGraph.ParseMode#SKIP}
+     * the nested {@code dependencies} and {@code hitRules} of deep DRGs are not decoded unless accessed,
+     * so the cost per response follows what is read rather than the size of the DRG.</p>
+     *
+     * @param xmlId           The XML definition ID (business key)
+     * @param evaluationContext Map of input variables (FEEL context)
+     * @param mode            How nested subtrees are parsed
+     * @param options         Optional configuration (version, businessId)
+     * @return indexed result graph
+     * @throws ApiException if the request fails
+     */
+    public EvaluationResultGraph evaluateGraph(String xmlId, Map<String, Object> evaluationContext,
+                                               EvaluationResultGraph.ParseMode mode, EvaluateOption... options) throws ApiException {
+        EvaluateConfig config = configure(options);
+        EvaluateStoredRequest request = buildRequest(evaluationContext, config);
+        return Bulkhead.execute(bulkhead, () -> {
+            URI uri;
+            String operationId;
+            if (registry != null) {
+                uri = transport.evaluateStoredUri(projectId, registry.getDefinition(projectId, xmlId, config.version).getId());
+                operationId = "evaluateStored";
+            } else {
+                uri = transport.evaluateByXmlIdUri(projectId, xmlId, config.version);
+                operationId = "evaluateByXMLID";
+            }
+            return transport.send(uri, operationId, request,
+                body -> EvaluationResultGraph.parse(body, transport.getObjectMapper(), mode));
+        });
+    }
+
+    /**
+     * Evaluates a decision definition without blocking the calling thread.
+     * Cancelling the returned future aborts the in-flight HTTP request.
+     *
+     * @param xmlId           The XML definition ID (business key)
+     * @param evaluationContext Map of input variables (FEEL context)
+     * @param options         Optional configuration (version, businessId)
+     * @return future completed with the decision results, or exceptionally with an {@link ApiException}
+     */
+    public CompletableFuture<Map<String, EvaluationResult>> evaluateAsync(String xmlId, Map<String, Object> evaluationContext, EvaluateOption... options) {
+        EvaluateConfig config = configure(options);
+        return evaluateAsync(xmlId, buildRequest(evaluationContext, config), config.version);
+    }
+
+    /**
+     * Prepares repeated evaluations of one decision with fixed options.
+     *
+     * <p>The returned handle encodes the URL and the static request fields once and writes only the
+     * input context on each call. Use it for the decisions evaluated most often.</p>
+     *
+     * @param xmlId   The XML definition ID (business key)
+     * @param options Optional configuration (version, businessId, decisions, decisionServices)
+     * @return reusable, thread-safe evaluation handle
+     */
+    public PreparedEvaluation prepare(String xmlId, EvaluateOption... options) {
+        EvaluateConfig config = configure(options);
+        return new PreparedEvaluation(transport, projectId, xmlId, config.version, config.businessId,
+            config.decisions, config.decisionServices, registry, bulkhead);
+    }
+
+    /**
+     * Evaluates a decision definition for every context emitted by {@code inputs}.
+     *
+     * <p>The returned publisher honours subscriber demand, keeps at most
+     * {@link #withMaxConcurrency(int)} requests in flight (16 by default), emits results in input order
+     * and propagates cancellation to upstream and to in-flight requests.</p>
+     *
+     * <p>An error from {@code inputs} is signalled after the results of all inputs received before it. A
+     * failed evaluation fails the stream eagerly: results ordered after it are not emitted, and their
+     * requests are cancelled.</p>
+     *
+     * @param xmlId   The XML definition ID (business key)
+     * @param inputs  Publisher of input contexts
+     * @param options Optional configuration (version, businessId, maxConcurrency)
+     * @return cold publisher of decision results
+     */
+    public Flow.Publisher<Map<String, EvaluationResult>> evaluateAll(String xmlId, Flow.Publisher<? extends Map<String, Object>> inputs, EvaluateOption... options) {
+        EvaluateConfig config = configure(options);
+        return new EvaluationPublisher(inputs,
+            input -> evaluateAsync(xmlId, buildRequest(input, config), config.version),
+            config.maxConcurrency);
+    }
+
+    private CompletableFuture<Map<String, EvaluationResult>> evaluateAsync(String xmlId, EvaluateStoredRequest request, Integer version) {
+        return Bulkhead.executeAsync(bulkhead, () -> send(xmlId, request, version));
+    }
+
+    private CompletableFuture<Map<String, EvaluationResult>> send(String xmlId, EvaluateStoredRequest request, Integer version) {
+        if (registry == null) {
+            return transport.evaluateAsync(projectId, xmlId, request, version);
+        }
+        // resolving must not block: this may run on an HttpClient completion thread
+        return EvaluationTransport.compose(registry.getDefinitionAsync(projectId, xmlId, version),
+            definition -> transport.evaluateStoredAsync(projectId, definition.getId(), request));
+    }
+
+    /**
+     * Evaluates an unsaved design with KPI history taken from a {@link KpiWindowStore}.
+     *
+     * <p>The store's live window is written straight into the request body as {@code kpiInitialState};
+     * entries already on the request are kept unless the store holds the same KPI.</p>
+     *
+     * @param request  The design request (xml, context, decisions, ...)
+     * @param kpiState Windowed KPI measurements
+     * @return Map of decision results
+     * @throws ApiException if the request fails
+     */
+    public Map<String, EvaluationResult> evaluateDesign(EvaluateDesignRequest request, KpiWindowStore kpiState) throws ApiException {
+        return Bulkhead.execute(bulkhead, () -> {
+            long now = System.currentTimeMillis();
+            return transport.send(transport.evaluateDesignUri(), "evaluateDesign",
+                generator -> kpiState.writeDesignRequest(generator, transport.getObjectMapper(), request, now),
+                body -> transport.getObjectMapper().readValue(body, EvaluationTransport.RESULT_TYPE));
+        });
+    }
+
+    /**
+     * Returns the project this engine evaluates against.
+     */
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Returns the bulkhead limiting this engine, or {@code null}.
+     */
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    private static EvaluateConfig configure(EvaluateOption... options) {
         EvaluateConfig config = new EvaluateConfig();
         for (EvaluateOption option : options) {
             option.apply(config);
         }
+        return config;
+    }
 
+    private static EvaluateStoredRequest buildRequest(Map<String, Object> evaluationContext, EvaluateConfig config) {
         EvaluateStoredRequest request = new EvaluateStoredRequest();
         
         // Convert context to Map<String, FeelValue>
@@ -62,8 +243,9 @@ public class DmnEngine {
         if (config.businessId != null) {
             request.setBusinessId(config.businessId);
         }
-
-        return (Map<String, EvaluationResult>) api.evaluateByXMLID(projectId, xmlId, request, config.version);
+        request.setDecisions(config.decisions);
+        request.setDecisionServices(config.decisionServices);
+        return request;
     }
     
     // --- Functional Options ---
@@ -76,6 +258,9 @@ public class DmnEngine {
     private static class EvaluateConfig {
         Integer version = null;
         String businessId = null;
+        int maxConcurrency = 16;
+        List<String> decisions = null;
+        List<String> decisionServices = null;
     }
 
     public static EvaluateOption withVersion(int version) {
@@ -85,4 +270,30 @@ public class DmnEngine {
     public static EvaluateOption withBusinessId(String businessId) {
         return config -> config.businessId = businessId;
     }
+
+    /**
+     * Restricts evaluation to the named decisions.
+     */
+    public static EvaluateOption withDecisions(String... decisions) {
+        List<String> names = List.of(decisions);
+        return config -> config.decisions = names;
+    }
+
+    /**
+     * Restricts evaluation to the named decision services.
+     */
+    public static EvaluateOption withDecisionServices(String... decisionServices) {
+        List<String> names = List.of(decisionServices);
+        return config -> config.decisionServices = names;
+    }
+
+    /**
+     * Limits the number of concurrent requests issued by {@link #evaluateAll}.
+     */
+    public static EvaluateOption withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        return config -> config.maxConcurrency = maxConcurrency;
+    }
 }
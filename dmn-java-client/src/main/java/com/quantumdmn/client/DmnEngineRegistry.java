@@ -0,0 +1,108 @@
+package com.quantumdmn.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out cached {@link DmnEngine}s for many projects over one shared {@link DmnService}.
+ *
+ * <p>Every project gets its own {@link Bulkhead}, so a project with slow or bursty decisions exhausts
+ * only its own permits instead of the threads and connections shared with all other projects.
+ * Projects can be registered under an alias with explicit limits; engines for unregistered project
+ * UUIDs are created on first use with the default limits.</p>
+ *
+ * <pre>{@code
+ * DmnEngineRegistry engines = new DmnEngineRegistry(service, registry, 16, 64, Duration.ofSeconds(5));
+ * engines.register("loans", "6f1c2a44-...", 32, 128, Duration.ofSeconds(2));
+ * engines.getEngine("loans").evaluate("loan-approval", context);
+ * }</pre>
+ */
+public class DmnEngineRegistry {
+
+    private final DmnService service;
+    private final DefinitionRegistry definitionRegistry;
+    private final int defaultMaxConcurrent;
+    private final int defaultMaxQueue;
+    private final Duration defaultMaxWait;
+    private final Map<String, DmnEngine> aliases = new ConcurrentHashMap<>();
+    private final Map<UUID, DmnEngine> engines = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry.
+     *
+     * @param service              The shared service (transport, auth, connection pool)
+     * @param definitionRegistry   Optional shared definition registry, may be {@code null}
+     * @param defaultMaxConcurrent Default concurrency limit per project
+     * @param defaultMaxQueue      Default number of calls that may wait per project
+     * @param defaultMaxWait       Default time a call may wait for a permit
+     */
+    public DmnEngineRegistry(DmnService service, DefinitionRegistry definitionRegistry,
+                             int defaultMaxConcurrent, int defaultMaxQueue, Duration defaultMaxWait) {
+        this.service = service;
+        this.definitionRegistry = definitionRegistry;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxQueue = defaultMaxQueue;
+        this.defaultMaxWait = defaultMaxWait;
+    }
+
+    /**
+     * Registers a project under an alias with its own bulkhead limits.
+     *
+     * @return the engine for the project
+     * @throws IllegalStateException if the alias or project is already registered
+     */
+    public DmnEngine register(String alias, String projectId, int maxConcurrent, int maxQueue, Duration maxWait) {
+        UUID id = UUID.fromString(projectId);
+        DmnEngine engine = new DmnEngine(service, projectId, definitionRegistry,
+            new Bulkhead(alias, maxConcurrent, maxQueue, maxWait));
+        if (engines.putIfAbsent(id, engine) != null) {
+            throw new IllegalStateException("Project " + projectId + " is already registered");
+        }
+        if (aliases.putIfAbsent(alias, engine) != null) {
+            engines.remove(id, engine);
+            throw new IllegalStateException("Alias '" + alias + "' is already registered");
+        }
+        return engine;
+    }
+
+    /**
+     * Returns the engine for a registered alias or a project UUID.
+     * Unregistered project UUIDs get an engine with the default limits.
+     *
+     * @throws IllegalArgumentException if the key is neither a registered alias nor a UUID
+     */
+    public DmnEngine getEngine(String aliasOrProjectId) {
+        DmnEngine engine = aliases.get(aliasOrProjectId);
+        if (engine != null) {
+            return engine;
+        }
+        UUID id;
+        try {
+            id = UUID.fromString(aliasOrProjectId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown QuantumDMN project: " + aliasOrProjectId, e);
+        }
+        return getEngine(id);
+    }
+
+    /**
+     * Returns the engine for a project UUID, creating it with the default limits on first use.
+     */
+    public DmnEngine getEngine(UUID projectId) {
+        return engines.computeIfAbsent(projectId, id -> new DmnEngine(service, id.toString(), definitionRegistry,
+            new Bulkhead(id.toString(), defaultMaxConcurrent, defaultMaxQueue, defaultMaxWait)));
+    }
+
+    /**
+     * Returns the registered aliases and their engines.
+     */
+    public Map<String, DmnEngine> getRegisteredEngines() {
+        return Map.copyOf(aliases);
+    }
+
+    public DmnService getService() {
+        return service;
+    }
+}
@@ -1,8 +1,11 @@
 package com.quantumdmn.client;
 
 import com.quantumdmn.client.api.DefaultApi;
+import com.quantumdmn.client.balancer.EndpointBalancer;
+import com.quantumdmn.client.balancer.LoadBalancingHttpClient;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -14,13 +17,19 @@ import java.util.function.Supplier;
  * DmnService service = new DmnService("https://api.quantumdmn.com", () -> getToken());
  * List<Project> projects = service.getApi().listProjects();
  * }</pre>
+ *
+ * <p>Several self-hosted replicas can be addressed directly with {@link #DmnService(List, Supplier)};
+ * requests are then balanced client-side by an {@link EndpointBalancer}.</p>
  */
-public class DmnService {
+public class DmnService implements AutoCloseable {
     
     private final String baseUrl;
     private final Supplier<String> tokenProvider;
+    private final EndpointBalancer balancer;
     private ApiClient apiClient;
     private DefaultApi api;
+    private HttpClient httpClient;
+    private EvaluationTransport transport;
 
     /**
      * Creates a new DmnService with a token provider for authentication.
@@ -31,6 +40,30 @@ public class DmnService {
     public DmnService(String baseUrl, Supplier<String> tokenProvider) {
         this.baseUrl = baseUrl;
         this.tokenProvider = tokenProvider;
+        this.balancer = null;
+        initializeClient();
+    }
+
+    /**
+     * Creates a new DmnService that balances requests across several replicas with default settings.
+     *
+     * @param baseUrls      The API base URLs of all replicas
+     * @param tokenProvider A supplier that returns a valid access token
+     */
+    public DmnService(List<String> baseUrls, Supplier<String> tokenProvider) {
+        this(new EndpointBalancer(baseUrls), tokenProvider);
+    }
+
+    /**
+     * Creates a new DmnService that routes every request through {@code balancer}.
+     *
+     * @param balancer      The balancer holding the replica endpoints
+     * @param tokenProvider A supplier that returns a valid access token
+     */
+    public DmnService(EndpointBalancer balancer, Supplier<String> tokenProvider) {
+        this.baseUrl = balancer.getPrimaryBaseUri();
+        this.tokenProvider = tokenProvider;
+        this.balancer = balancer;
         initializeClient();
     }
 
@@ -46,9 +79,21 @@ public class DmnService {
 
     private void initializeClient() {
         this.apiClient = new ApiClient();
+        if (balancer != null) {
+            this.apiClient.setHttpClientBuilder(new SharedHttpClientBuilder(HttpClient.newBuilder(),
+                client -> new LoadBalancingHttpClient(client, balancer)));
+        } else {
+            this.apiClient.setHttpClientBuilder(new SharedHttpClientBuilder(HttpClient.newBuilder()));
+        }
         this.apiClient.updateBaseUri(baseUrl);
         this.apiClient.setRequestInterceptor(this::addAuthHeader);
         this.api = new DefaultApi(apiClient);
+        this.httpClient = apiClient.getHttpClient();
+        this.transport = new EvaluationTransport(this);
+    }
+
+    EvaluationTransport getTransport() {
+        return transport;
     }
 
     private HttpRequest.Builder addAuthHeader(HttpRequest.Builder builder) {
@@ -63,6 +108,13 @@ public class DmnService {
         return apiClient;
     }
 
+    /**
+     * Returns the HTTP client shared by the generated API and the asynchronous evaluation path.
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
     /**
      * Returns the DefaultApi for making API calls.
      */
@@ -71,9 +123,26 @@ public class DmnService {
     }
 
     /**
-     * Returns the base URL.
+     * Returns the base URL (the first replica when load balancing).
      */
     public String getBaseUrl() {
         return baseUrl;
     }
+
+    /**
+     * Returns the endpoint balancer with per-endpoint metrics, or {@code null} for a single base URL.
+     */
+    public EndpointBalancer getBalancer() {
+        return balancer;
+    }
+
+    /**
+     * Stops background health probes when load balancing. The service must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (balancer != null) {
+            balancer.close();
+        }
+    }
 }
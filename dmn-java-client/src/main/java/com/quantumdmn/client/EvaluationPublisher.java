@@ -0,0 +1,243 @@
+package com.quantumdmn.client;
+
+import com.quantumdmn.client.model.EvaluationResult;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link Flow.Publisher} that evaluates every input context emitted by an upstream publisher.
+ *
+ * <p>Inputs are only requested from upstream while the subscriber has outstanding demand, and at most
+ * {@code maxConcurrency} evaluations are in flight at any time. Results are emitted in input order.
+ * Cancelling the subscription cancels upstream and every in-flight HTTP request.</p>
+ *
+ * <p>An upstream error is delivered after the results of the inputs received before it, like completion.
+ * A failed evaluation is eager instead: once it is the oldest outstanding result, the stream terminates
+ * with its {@link ApiException}, and later evaluations are cancelled even if they already succeeded.</p>
+ *
+ * <p>The publisher is cold: each subscriber triggers its own subscription to the upstream publisher.</p>
+ *
+ * <pre>{@code
+ * Flow.Publisher<Map<String, EvaluationResult>> results = engine.evaluateAll("decision-xml-id", inputs,
+ *     DmnEngine.withMaxConcurrency(8));
+ * }</pre>
+ */
+public class EvaluationPublisher implements Flow.Publisher<Map<String, EvaluationResult>> {
+
+    private final Flow.Publisher<? extends Map<String, Object>> inputs;
+    private final Function<Map<String, Object>, CompletableFuture<Map<String, EvaluationResult>>> evaluator;
+    private final int maxConcurrency;
+
+    /**
+     * @param inputs         upstream publisher of evaluation contexts
+     * @param evaluator      starts one evaluation; cancelling the returned future must abort it
+     * @param maxConcurrency maximum number of evaluations in flight
+     */
+    public EvaluationPublisher(Flow.Publisher<? extends Map<String, Object>> inputs,
+                               Function<Map<String, Object>, CompletableFuture<Map<String, EvaluationResult>>> evaluator,
+                               int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.inputs = Objects.requireNonNull(inputs, "inputs");
+        this.evaluator = Objects.requireNonNull(evaluator, "evaluator");
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Map<String, EvaluationResult>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        inputs.subscribe(new EvaluationSubscription(subscriber));
+    }
+
+    /**
+     * Bridges the upstream subscription and the downstream subscriber.
+     *
+     * <p>All signals are funnelled through {@link #drain()}, which runs on one thread at a time; fields
+     * without {@code volatile} are only touched from inside the drain loop.</p>
+     */
+    private final class EvaluationSubscription implements Flow.Subscriber<Map<String, Object>>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super Map<String, EvaluationResult>> downstream;
+        private final ConcurrentLinkedQueue<Map<String, Object>> inbox = new ConcurrentLinkedQueue<>();
+        private final ArrayDeque<CompletableFuture<Map<String, EvaluationResult>>> window = new ArrayDeque<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Flow.Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile Throwable upstreamError;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+        private volatile boolean terminated;
+
+        private long upstreamOutstanding;
+
+        EvaluationSubscription(Flow.Subscriber<? super Map<String, EvaluationResult>> downstream) {
+            this.downstream = downstream;
+        }
+
+        // --- upstream signals ---
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            drain();
+        }
+
+        @Override
+        public void onNext(Map<String, Object> item) {
+            Objects.requireNonNull(item, "item");
+            if (terminated || cancelled || upstreamDone) {
+                return;
+            }
+            inbox.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            upstreamError = Objects.requireNonNull(throwable, "throwable");
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        // --- downstream signals ---
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive subscription request: " + n);
+            } else {
+                requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    drainOnce();
+                } else {
+                    // an item that slipped past the check in onNext while terminating
+                    inbox.clear();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            Throwable failure = error;
+            if (failure != null) {
+                terminate();
+                downstream.onError(failure);
+                return;
+            }
+            // read before polling the inbox so an item delivered ahead of onComplete is never missed
+            boolean done = upstreamDone;
+
+            Map<String, Object> input;
+            while ((input = inbox.poll()) != null) {
+                upstreamOutstanding--;
+                CompletableFuture<Map<String, EvaluationResult>> future;
+                try {
+                    future = evaluator.apply(input);
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+                window.add(future);
+                future.whenComplete((result, e) -> drain());
+            }
+
+            while (!window.isEmpty()) {
+                CompletableFuture<Map<String, EvaluationResult>> head = window.peek();
+                if (!head.isDone()) {
+                    break;
+                }
+                if (head.isCompletedExceptionally()) {
+                    Throwable cause = head.handle((result, e) -> e).join();
+                    terminate();
+                    downstream.onError(EvaluationTransport.unwrap(cause));
+                    return;
+                }
+                if (requested.get() == 0) {
+                    break;
+                }
+                window.poll();
+                downstream.onNext(head.join());
+                if (requested.get() != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+            }
+
+            if (done && inbox.isEmpty() && window.isEmpty()) {
+                terminated = true;
+                Throwable upstreamFailure = upstreamError;
+                if (upstreamFailure != null) {
+                    downstream.onError(upstreamFailure);
+                } else {
+                    downstream.onComplete();
+                }
+                return;
+            }
+
+            if (!done) {
+                long capacity = Math.min(maxConcurrency, requested.get());
+                long wanted = capacity - window.size() - upstreamOutstanding;
+                if (wanted > 0) {
+                    upstreamOutstanding += wanted;
+                    upstream.request(wanted);
+                }
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            if (!upstreamDone && upstream != null) {
+                upstream.cancel();
+            }
+            for (CompletableFuture<Map<String, EvaluationResult>> future : window) {
+                future.cancel(true);
+            }
+            window.clear();
+            inbox.clear();
+        }
+    }
+}
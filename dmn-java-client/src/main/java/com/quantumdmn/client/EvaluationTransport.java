@@ -0,0 +1,323 @@
+package com.quantumdmn.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumdmn.client.model.EvaluateStoredRequest;
+import com.quantumdmn.client.model.EvaluationResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Builds and sends evaluation requests directly on the shared {@link HttpClient}.
+ *
+ * <p>The generated {@code DefaultApi} only offers blocking calls. This transport mirrors its request
+ * layout (URL, headers, timeout, request interceptor) so the engine can issue non-blocking calls whose
+ * cancellation reaches the in-flight HTTP exchange.</p>
+ */
+class EvaluationTransport {
+
+    static final TypeReference<Map<String, EvaluationResult>> RESULT_TYPE = new TypeReference<>() {};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper mapper;
+    private final String baseUri;
+    private final Duration readTimeout;
+    private final Consumer<HttpRequest.Builder> interceptor;
+
+    EvaluationTransport(DmnService service) {
+        ApiClient apiClient = service.getApiClient();
+        this.httpClient = service.getHttpClient();
+        this.mapper = apiClient.getObjectMapper();
+        this.baseUri = apiClient.getBaseUri();
+        this.readTimeout = apiClient.getReadTimeout();
+        this.interceptor = apiClient.getRequestInterceptor();
+    }
+
+    ObjectMapper getObjectMapper() {
+        return mapper;
+    }
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Returns the URI of the evaluate-by-XML-ID endpoint.
+     */
+    URI evaluateByXmlIdUri(UUID projectId, String xmlId, Integer version) {
+        String path = "/projects/" + ApiClient.urlEncode(projectId.toString())
+            + "/definitions/by-xml-id/" + ApiClient.urlEncode(xmlId) + "/evaluate";
+        return URI.create(baseUri + path + (version != null ? "?version=" + version : ""));
+    }
+
+    /**
+     * Returns the URI of the get-definition-by-XML-ID endpoint.
+     */
+    URI definitionByXmlIdUri(UUID projectId, String xmlId, Integer version) {
+        String path = "/projects/" + ApiClient.urlEncode(projectId.toString())
+            + "/definitions/by-xml-id/" + ApiClient.urlEncode(xmlId);
+        return URI.create(baseUri + path + (version != null ? "?version=" + version : ""));
+    }
+
+    /**
+     * Returns the URI of the evaluate-stored-definition endpoint.
+     */
+    URI evaluateStoredUri(UUID projectId, UUID definitionId) {
+        String path = "/projects/" + ApiClient.urlEncode(projectId.toString())
+            + "/definitions/" + ApiClient.urlEncode(definitionId.toString()) + "/evaluate";
+        return URI.create(baseUri + path);
+    }
+
+    /**
+     * Returns the URI of the run-simulation endpoint.
+     */
+    URI simulateUri(UUID projectId, UUID definitionId) {
+        String path = "/projects/" + ApiClient.urlEncode(projectId.toString())
+            + "/definitions/" + ApiClient.urlEncode(definitionId.toString()) + "/simulate";
+        return URI.create(baseUri + path);
+    }
+
+    /**
+     * Returns the URI of the evaluate-design endpoint.
+     */
+    URI evaluateDesignUri() {
+        return URI.create(baseUri + "/evaluate/design");
+    }
+
+    /**
+     * Creates a POST request carrying a JSON body, with auth and timeout applied the same way as the generated API.
+     */
+    HttpRequest newJsonPost(URI uri, HttpRequest.BodyPublisher body) {
+        return build(HttpRequest.newBuilder(uri)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json")
+            .POST(body));
+    }
+
+    /**
+     * Creates a GET request accepting JSON, with auth and timeout applied the same way as the generated API.
+     */
+    HttpRequest newGet(URI uri) {
+        return build(HttpRequest.newBuilder(uri)
+            .header("Accept", "application/json")
+            .GET());
+    }
+
+    private HttpRequest build(HttpRequest.Builder builder) {
+        if (readTimeout != null) {
+            builder.timeout(readTimeout);
+        }
+        if (interceptor != null) {
+            interceptor.accept(builder);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Sends an evaluate-by-XML-ID request without blocking the calling thread.
+     */
+    CompletableFuture<Map<String, EvaluationResult>> evaluateAsync(UUID projectId, String xmlId, EvaluateStoredRequest request, Integer version) {
+        return evaluateAsync(evaluateByXmlIdUri(projectId, xmlId, version), "evaluateByXMLID", request);
+    }
+
+    /**
+     * Sends an evaluate-stored-definition request without blocking the calling thread.
+     */
+    CompletableFuture<Map<String, EvaluationResult>> evaluateStoredAsync(UUID projectId, UUID definitionId, EvaluateStoredRequest request) {
+        return evaluateAsync(evaluateStoredUri(projectId, definitionId), "evaluateStored", request);
+    }
+
+    private CompletableFuture<Map<String, EvaluationResult>> evaluateAsync(URI uri, String operationId, EvaluateStoredRequest request) {
+        byte[] body;
+        try {
+            body = mapper.writeValueAsBytes(request);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new ApiException(e));
+        }
+        HttpRequest httpRequest = newJsonPost(uri, HttpRequest.BodyPublishers.ofByteArray(body));
+        return sendAsync(httpRequest, operationId, bytes -> mapper.readValue(bytes, RESULT_TYPE));
+    }
+
+    /**
+     * Sends a POST with a JSON body and streams the successful response body into {@code decoder}.
+     *
+     * @throws ApiException on transport errors, non-2xx responses or decoding failures
+     */
+    <T> T send(URI uri, String operationId, Object request, StreamDecoder<T> decoder) throws ApiException {
+        return send(uri, operationId, generator -> mapper.writeValue(generator, request), decoder);
+    }
+
+    /**
+     * Sends a POST whose JSON body is produced by {@code writer} and streams the successful response body
+     * into {@code decoder}.
+     *
+     * @throws ApiException on transport errors, non-2xx responses or decoding failures
+     */
+    <T> T send(URI uri, String operationId, BodyWriter writer, StreamDecoder<T> decoder) throws ApiException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                writer.write(generator);
+            }
+            return send(newJsonPost(uri, HttpRequest.BodyPublishers.ofByteArray(out.toByteArray())), operationId, decoder);
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+    }
+
+    /**
+     * Sends a prepared request and streams the successful response body into {@code decoder}.
+     *
+     * @throws ApiException on transport errors, non-2xx responses or decoding failures
+     */
+    <T> T send(HttpRequest httpRequest, String operationId, StreamDecoder<T> decoder) throws ApiException {
+        try {
+            HttpResponse<InputStream> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() / 100 != 2) {
+                    checkStatus(operationId, response.statusCode(), response.headers(), body == null ? null : body.readAllBytes());
+                }
+                return decoder.decode(body);
+            }
+        } catch (IOException e) {
+            throw new ApiException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(e);
+        }
+    }
+
+    /**
+     * Sends a request and decodes a successful response body.
+     *
+     * <p>Cancelling the returned future cancels the underlying HTTP exchange. Failures complete the future
+     * with an {@link ApiException}.</p>
+     */
+    <T> CompletableFuture<T> sendAsync(HttpRequest request, String operationId, BodyDecoder<T> decoder) {
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        // a plain future rather than a dependent of the client's own future: cancelling a dependent of the
+        // client's future fails it with "Request cancelled" instead of leaving it cancelled
+        CompletableFuture<T> result = new CompletableFuture<>();
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                result.completeExceptionally(cause instanceof ApiException ? cause : new ApiException(cause));
+                return;
+            }
+            try {
+                checkStatus(operationId, response.statusCode(), response.headers(), response.body());
+                result.complete(decoder.decode(response.body()));
+            } catch (ApiException e) {
+                result.completeExceptionally(e);
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(new ApiException(e));
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Applies {@code next} to the result of {@code first} and returns a future that, when cancelled,
+     * also cancels the future returned by {@code next}. {@code first} itself is never cancelled, so it
+     * may be shared between callers.
+     */
+    static <A, T> CompletableFuture<T> compose(CompletableFuture<A> first, Function<A, CompletableFuture<T>> next) {
+        if (first.isDone() && !first.isCompletedExceptionally()) {
+            return next.apply(first.join());
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> inner = new AtomicReference<>();
+        first.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> started = next.apply(value);
+            inner.set(started);
+            started.whenComplete((v, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(unwrap(e));
+                } else {
+                    result.complete(v);
+                }
+            });
+            if (result.isCancelled()) {
+                started.cancel(true);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            CompletableFuture<T> started = inner.get();
+            if (error instanceof CancellationException && started != null) {
+                started.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Throws an {@link ApiException} formatted like the generated API when the status is not 2xx.
+     */
+    static void checkStatus(String operationId, int status, HttpHeaders headers, byte[] body) throws ApiException {
+        if (status / 100 == 2) {
+            return;
+        }
+        String text = body == null ? null : new String(body, StandardCharsets.UTF_8);
+        String shown = text == null || text.isEmpty() ? "[no body]" : text;
+        throw new ApiException(status, operationId + " call failed with: " + status + " - " + shown, headers, text);
+    }
+
+    /**
+     * Strips {@link CompletionException} wrappers added by {@link CompletableFuture}.
+     */
+    static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    @FunctionalInterface
+    interface BodyWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface BodyDecoder<T> {
+        T decode(byte[] body) throws IOException;
+    }
+
+    /**
+     * Decodes a streamed response body. An {@link ApiException} thrown by the decoder (for example from
+     * a nested call) reaches the caller of {@code send} unchanged.
+     */
+    @FunctionalInterface
+    interface StreamDecoder<T> {
+        T decode(InputStream body) throws IOException, ApiException;
+    }
+}
@@ -0,0 +1,385 @@
+package com.quantumdmn.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumdmn.client.model.EvaluateDesignRequest;
+import com.quantumdmn.client.model.EvaluateDesignRequestKpiInitialStateValueInner;
+import com.quantumdmn.client.model.EvaluateDesignRequestKpiInitialStateValueInnerMetricsInner;
+import com.quantumdmn.client.model.FeelValue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client-side store of windowed KPI measurements that feeds {@code kpiInitialState} of
+ * {@code EvaluateDesign} requests.
+ *
+ * <p>Each KPI is kept in a primitive ring buffer: one {@code long[]} of epoch-millis timestamps plus
+ * one {@code double[]} column per metric field. Points older than the window are evicted as new points
+ * arrive, and each KPI holds at most {@code maxPointsPerKpi} points (the oldest are overwritten).
+ * Appends to different KPIs never contend; appends to the same KPI are serialized by a per-KPI lock.</p>
+ *
+ * <p>Only finite numeric metrics are supported. Appends are expected in roughly chronological order; points
+ * outside the window are never serialized.</p>
+ *
+ * <pre>{@code
+ * KpiWindowStore kpis = new KpiWindowStore(Duration.ofHours(1));
+ * kpis.append("approval-rate", System.currentTimeMillis(), "approved", 1);
+ * engine.evaluateDesign(request, kpis);
+ * }</pre>
+ */
+public class KpiWindowStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+    /** Longest ISO_INSTANT rendering of an epoch-millis instant ("+292278994-08-17T07:12:55.807Z" is 30). */
+    private static final int TIMESTAMP_CHARS = 32;
+
+    private final long windowMillis;
+    private final int maxPointsPerKpi;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store keeping at most 10,000 points per KPI.
+     */
+    public KpiWindowStore(Duration window) {
+        this(window, 10_000);
+    }
+
+    /**
+     * @param window          How long measurements are kept
+     * @param maxPointsPerKpi Upper bound on points kept per KPI
+     */
+    public KpiWindowStore(Duration window, int maxPointsPerKpi) {
+        if (maxPointsPerKpi < 1) {
+            throw new IllegalArgumentException("maxPointsPerKpi must be at least 1");
+        }
+        this.windowMillis = window.toMillis();
+        this.maxPointsPerKpi = maxPointsPerKpi;
+    }
+
+    /**
+     * Records a single-field measurement.
+     *
+     * @throws IllegalArgumentException if {@code value} is NaN or infinite
+     */
+    public void append(String kpiId, long timestampMillis, String field, double value) {
+        checkFinite(field, value);
+        appendPoint(kpiId, timestampMillis, new String[] {field}, new double[] {value});
+    }
+
+    /**
+     * Records a measurement with several fields; {@code fields[i]} holds {@code values[i]}.
+     *
+     * @throws IllegalArgumentException if the lengths differ or a value is NaN or infinite
+     */
+    public void append(String kpiId, long timestampMillis, String[] fields, double[] values) {
+        if (fields.length != values.length) {
+            throw new IllegalArgumentException("fields and values must have the same length");
+        }
+        for (int i = 0; i < values.length; i++) {
+            checkFinite(fields[i], values[i]);
+        }
+        appendPoint(kpiId, timestampMillis, fields, values);
+    }
+
+    private void appendPoint(String kpiId, long timestampMillis, String[] fields, double[] values) {
+        // a series cleared concurrently is already unmapped, so the retry lands in its replacement
+        while (!series(kpiId).append(timestampMillis, fields, values)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * NaN marks an absent field in the columns and neither NaN nor infinity is a FEEL number.
+     */
+    private static void checkFinite(String field, double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Metric " + field + " must be a finite number but was " + value);
+        }
+    }
+
+    /**
+     * Returns the IDs of all KPIs with recorded measurements.
+     */
+    public Set<String> getKpiIds() {
+        return Set.copyOf(series.keySet());
+    }
+
+    /**
+     * Returns the number of points currently buffered for a KPI (including not yet evicted stale points).
+     */
+    public int size(String kpiId) {
+        Series s = series.get(kpiId);
+        return s == null ? 0 : s.size();
+    }
+
+    /**
+     * Drops every point older than the window relative to {@code nowMillis}.
+     */
+    public void evictExpired(long nowMillis) {
+        long cutoff = nowMillis - windowMillis;
+        for (Series s : series.values()) {
+            s.evict(cutoff);
+        }
+    }
+
+    /**
+     * Removes all measurements of a KPI. Appends that complete before this call are dropped, later ones
+     * start a new series.
+     */
+    public void clear(String kpiId) {
+        Series s = series.get(kpiId);
+        if (s != null) {
+            synchronized (s) {
+                s.cleared = true;
+                series.remove(kpiId, s);
+            }
+        }
+    }
+
+    /**
+     * Writes the live window as the value of {@code kpiInitialState}: an object mapping each KPI ID to
+     * its timestamped metric arrays. Values go straight from the columns into the generator.
+     *
+     * @param nowMillis Reference time for the window
+     */
+    public void writeKpiInitialState(JsonGenerator generator, long nowMillis) throws IOException {
+        generator.writeStartObject();
+        writeEntries(generator, nowMillis, series.keySet());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes an {@code EvaluateDesign} request body, replacing the request's {@code kpiInitialState}
+     * entries with the live window for every KPI held by this store. Other entries of the request are kept.
+     *
+     * <p>The fields are written one by one in the order and with the null handling of the generated model
+     * ({@code xml} always, the rest only when set), so the request is serialized in a single pass.</p>
+     */
+    void writeDesignRequest(JsonGenerator generator, ObjectMapper mapper, EvaluateDesignRequest request, long nowMillis) throws IOException {
+        Set<String> kpiIds = getKpiIds();
+        generator.writeStartObject();
+        generator.writeStringField(EvaluateDesignRequest.JSON_PROPERTY_XML, request.getXml());
+        writeStrings(generator, EvaluateDesignRequest.JSON_PROPERTY_ADDITIONAL_XMLS, request.getAdditionalXmls());
+        if (request.getContext() != null) {
+            generator.writeFieldName(EvaluateDesignRequest.JSON_PROPERTY_CONTEXT);
+            mapper.writeValue(generator, request.getContext());
+        }
+        writeStrings(generator, EvaluateDesignRequest.JSON_PROPERTY_DECISION_SERVICES, request.getDecisionServices());
+        writeStrings(generator, EvaluateDesignRequest.JSON_PROPERTY_DECISIONS, request.getDecisions());
+
+        generator.writeFieldName(EvaluateDesignRequest.JSON_PROPERTY_KPI_INITIAL_STATE);
+        generator.writeStartObject();
+        Map<String, List<EvaluateDesignRequestKpiInitialStateValueInner>> requested = request.getKpiInitialState();
+        if (requested != null) {
+            for (Map.Entry<String, List<EvaluateDesignRequestKpiInitialStateValueInner>> entry : requested.entrySet()) {
+                if (!kpiIds.contains(entry.getKey())) {
+                    generator.writeFieldName(entry.getKey());
+                    mapper.writeValue(generator, entry.getValue());
+                }
+            }
+        }
+        writeEntries(generator, nowMillis, kpiIds);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private static void writeStrings(JsonGenerator generator, String field, List<String> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(field);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeEntries(JsonGenerator generator, long nowMillis, Set<String> kpiIds) throws IOException {
+        long cutoff = nowMillis - windowMillis;
+        StringBuilder timestamp = new StringBuilder(TIMESTAMP_CHARS);
+        char[] chars = new char[TIMESTAMP_CHARS];
+        for (String kpiId : kpiIds) {
+            Series s = series.get(kpiId);
+            if (s != null) {
+                generator.writeFieldName(kpiId);
+                s.write(generator, cutoff, timestamp, chars);
+            }
+        }
+    }
+
+    /**
+     * Copies the live window into the generated request model, for use with
+     * {@code DefaultApi.evaluateDesign}. Prefer {@link DmnEngine#evaluateDesign} to avoid the copy.
+     */
+    public Map<String, List<EvaluateDesignRequestKpiInitialStateValueInner>> toKpiInitialState(long nowMillis) {
+        long cutoff = nowMillis - windowMillis;
+        Map<String, List<EvaluateDesignRequestKpiInitialStateValueInner>> state = new LinkedHashMap<>();
+        series.forEach((kpiId, s) -> state.put(kpiId, s.toModel(cutoff)));
+        return state;
+    }
+
+    private Series series(String kpiId) {
+        return series.computeIfAbsent(kpiId, id -> new Series(maxPointsPerKpi, windowMillis));
+    }
+
+    /**
+     * Ring buffer of one KPI. Guarded by its own monitor.
+     */
+    private static final class Series {
+
+        private final int maxPoints;
+        private final long windowMillis;
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private String[] fields = new String[0];
+        private double[][] columns = new double[0][];
+        private int head;
+        private int size;
+        private boolean cleared;
+
+        Series(int maxPoints, long windowMillis) {
+            this.maxPoints = maxPoints;
+            this.windowMillis = windowMillis;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Returns {@code false} without appending if the series was cleared and must be replaced.
+         */
+        synchronized boolean append(long timestamp, String[] names, double[] values) {
+            if (cleared) {
+                return false;
+            }
+            evict(timestamp - windowMillis);
+            if (size == timestamps.length) {
+                if (timestamps.length < maxPoints) {
+                    grow(Math.min(maxPoints, timestamps.length * 2));
+                } else {
+                    head = (head + 1) % timestamps.length;
+                    size--;
+                }
+            }
+            int slot = (head + size) % timestamps.length;
+            timestamps[slot] = timestamp;
+            for (double[] column : columns) {
+                column[slot] = Double.NaN;
+            }
+            for (int i = 0; i < names.length; i++) {
+                int c = column(names[i]);
+                columns[c][slot] = values[i];
+            }
+            size++;
+            return true;
+        }
+
+        synchronized void evict(long cutoff) {
+            while (size > 0 && timestamps[head] < cutoff) {
+                head = (head + 1) % timestamps.length;
+                size--;
+            }
+        }
+
+        synchronized void write(JsonGenerator generator, long cutoff, StringBuilder timestamp, char[] chars) throws IOException {
+            generator.writeStartArray();
+            int capacity = timestamps.length;
+            for (int i = 0; i < size; i++) {
+                int slot = (head + i) % capacity;
+                long millis = timestamps[slot];
+                if (millis < cutoff) {
+                    continue;
+                }
+                generator.writeStartObject();
+                generator.writeFieldName("metrics");
+                generator.writeStartArray();
+                for (int c = 0; c < columns.length; c++) {
+                    double value = columns[c][slot];
+                    if (!Double.isNaN(value)) {
+                        generator.writeStartObject();
+                        generator.writeStringField("field", fields[c]);
+                        generator.writeNumberField("value", value);
+                        generator.writeEndObject();
+                    }
+                }
+                generator.writeEndArray();
+                timestamp.setLength(0);
+                DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(millis), timestamp);
+                timestamp.getChars(0, timestamp.length(), chars, 0);
+                generator.writeFieldName("timestamp");
+                generator.writeString(chars, 0, timestamp.length());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+
+        synchronized List<EvaluateDesignRequestKpiInitialStateValueInner> toModel(long cutoff) {
+            List<EvaluateDesignRequestKpiInitialStateValueInner> points = new ArrayList<>(size);
+            int capacity = timestamps.length;
+            for (int i = 0; i < size; i++) {
+                int slot = (head + i) % capacity;
+                if (timestamps[slot] < cutoff) {
+                    continue;
+                }
+                List<EvaluateDesignRequestKpiInitialStateValueInnerMetricsInner> metrics = new ArrayList<>(columns.length);
+                for (int c = 0; c < columns.length; c++) {
+                    double value = columns[c][slot];
+                    if (!Double.isNaN(value)) {
+                        metrics.add(new EvaluateDesignRequestKpiInitialStateValueInnerMetricsInner()
+                            .field(fields[c])
+                            .value(FeelValue.ofNumber(value)));
+                    }
+                }
+                points.add(new EvaluateDesignRequestKpiInitialStateValueInner()
+                    .metrics(metrics)
+                    .timestamp(OffsetDateTime.ofInstant(Instant.ofEpochMilli(timestamps[slot]), ZoneOffset.UTC)));
+            }
+            return points;
+        }
+
+        private int column(String name) {
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].equals(name)) {
+                    return i;
+                }
+            }
+            fields = Arrays.copyOf(fields, fields.length + 1);
+            fields[fields.length - 1] = name;
+            double[] column = new double[timestamps.length];
+            Arrays.fill(column, Double.NaN);
+            columns = Arrays.copyOf(columns, columns.length + 1);
+            columns[columns.length - 1] = column;
+            return columns.length - 1;
+        }
+
+        private void grow(int capacity) {
+            long[] newTimestamps = new long[capacity];
+            double[][] newColumns = new double[columns.length][capacity];
+            for (int i = 0; i < size; i++) {
+                int slot = (head + i) % timestamps.length;
+                newTimestamps[i] = timestamps[slot];
+                for (int c = 0; c < columns.length; c++) {
+                    newColumns[c][i] = columns[c][slot];
+                }
+            }
+            for (double[] column : newColumns) {
+                Arrays.fill(column, size, capacity, Double.NaN);
+            }
+            timestamps = newTimestamps;
+            columns = newColumns;
+            head = 0;
+        }
+    }
+}
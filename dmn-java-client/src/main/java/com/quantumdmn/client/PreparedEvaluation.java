@@ -0,0 +1,308 @@
+package com.quantumdmn.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.quantumdmn.client.model.EvaluateStoredRequest;
+import com.quantumdmn.client.model.EvaluationResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Evaluation of one decision with fixed options, prepared once and reused for every call.
+ *
+ * <p>The URL and the static part of the request body ({@code businessId}, {@code decisions},
+ * {@code decisionServices}) are encoded when the handle is created. Each call only writes the variable
+ * context, straight from the caller's map into a per-thread reusable byte buffer that is then copied
+ * into a right-sized body, so no intermediate {@code FeelValue} tree, {@code HashMap} or request object
+ * is built. Context values are encoded the
+ * same way {@link com.quantumdmn.client.model.FeelValue#fromRaw} would encode them.</p>
+ *
+ * <p>Instances are immutable and thread-safe; create them with {@link DmnEngine#prepare}.</p>
+ *
+ * <pre>{@code
+ * PreparedEvaluation approval = engine.prepare("loan-approval", DmnEngine.withDecisions("Approval"));
+ * Map<String, EvaluationResult> results = approval.evaluate(Map.of("income", 50000));
+ * }</pre>
+ */
+public class PreparedEvaluation {
+
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private final EvaluationTransport transport;
+    private final UUID projectId;
+    private final String xmlId;
+    private final Integer version;
+    private final DefinitionRegistry registry;
+    private final Bulkhead bulkhead;
+    private final Target byXmlIdTarget;
+    private final byte[] prefix;
+    private final ObjectReader resultReader;
+    private volatile StoredTarget storedTarget;
+
+    PreparedEvaluation(EvaluationTransport transport, UUID projectId, String xmlId, Integer version, String businessId,
+                       List<String> decisions, List<String> decisionServices, DefinitionRegistry registry, Bulkhead bulkhead) {
+        this.transport = transport;
+        this.projectId = projectId;
+        this.xmlId = xmlId;
+        this.version = version;
+        this.registry = registry;
+        this.bulkhead = bulkhead;
+        this.byXmlIdTarget = new Target(transport.evaluateByXmlIdUri(projectId, xmlId, version), "evaluateByXMLID");
+        this.prefix = encodePrefix(transport, businessId, decisions, decisionServices);
+        this.resultReader = transport.getObjectMapper().readerFor(EvaluationTransport.RESULT_TYPE);
+    }
+
+    /**
+     * Evaluates the decision for one input context.
+     *
+     * @param evaluationContext Map of input variables (FEEL context)
+     * @return Map of decision results
+     * @throws ApiException if the request fails
+     */
+    public Map<String, EvaluationResult> evaluate(Map<String, Object> evaluationContext) throws ApiException {
+        return Bulkhead.execute(bulkhead, () -> send(evaluationContext));
+    }
+
+    /**
+     * Evaluates the decision without blocking the calling thread.
+     * Cancelling the returned future aborts the in-flight HTTP request.
+     *
+     * @param evaluationContext Map of input variables (FEEL context)
+     * @return future completed with the decision results, or exceptionally with an {@link ApiException}
+     */
+    public CompletableFuture<Map<String, EvaluationResult>> evaluateAsync(Map<String, Object> evaluationContext) {
+        return Bulkhead.executeAsync(bulkhead, () -> sendAsync(evaluationContext));
+    }
+
+    public String getXmlId() {
+        return xmlId;
+    }
+
+    private Map<String, EvaluationResult> send(Map<String, Object> evaluationContext) throws ApiException {
+        Target target = target();
+        HttpRequest request = transport.newJsonPost(target.uri, HttpRequest.BodyPublishers.ofByteArray(encode(evaluationContext)));
+        return transport.send(request, target.operationId, resultReader::readValue);
+    }
+
+    private CompletableFuture<Map<String, EvaluationResult>> sendAsync(Map<String, Object> evaluationContext) {
+        byte[] body;
+        try {
+            body = encode(evaluationContext);
+        } catch (ApiException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (registry == null) {
+            return sendAsync(byXmlIdTarget, body);
+        }
+        // resolving must not block: this may run on an HttpClient completion thread
+        return EvaluationTransport.compose(registry.getDefinitionAsync(projectId, xmlId, version),
+            definition -> sendAsync(storedTarget(definition.getId()), body));
+    }
+
+    private CompletableFuture<Map<String, EvaluationResult>> sendAsync(Target target, byte[] body) {
+        HttpRequest request = transport.newJsonPost(target.uri, HttpRequest.BodyPublishers.ofByteArray(body));
+        return transport.sendAsync(request, target.operationId, resultReader::readValue);
+    }
+
+    /**
+     * Encodes the request body for a context into a right-sized array. The HTTP client may read a body
+     * publisher after the response headers arrive or again on a retry, so the body never aliases the
+     * per-thread buffer.
+     */
+    byte[] encode(Map<String, Object> evaluationContext) throws ApiException {
+        Buffer buffer = BUFFERS.get();
+        if (buffer.inUse) {
+            // re-entrant call on this thread (e.g. from a custom serializer); fall back to a private buffer
+            buffer = new Buffer();
+        }
+        buffer.inUse = true;
+        try {
+            writeBody(buffer, evaluationContext);
+            return Arrays.copyOf(buffer.array(), buffer.size());
+        } finally {
+            buffer.reset();
+            buffer.inUse = false;
+        }
+    }
+
+    /**
+     * Returns the backing array of the calling thread's encode buffer.
+     */
+    static byte[] threadBuffer() {
+        return BUFFERS.get().array();
+    }
+
+    private Target target() throws ApiException {
+        if (registry == null) {
+            return byXmlIdTarget;
+        }
+        return storedTarget(registry.getDefinition(projectId, xmlId, version).getId());
+    }
+
+    private Target storedTarget(UUID definitionId) {
+        StoredTarget cached = storedTarget;
+        if (cached == null || !cached.definitionId.equals(definitionId)) {
+            cached = new StoredTarget(definitionId, transport.evaluateStoredUri(projectId, definitionId));
+            storedTarget = cached;
+        }
+        return new Target(cached.uri, "evaluateStored");
+    }
+
+    private void writeBody(Buffer buffer, Map<String, Object> evaluationContext) throws ApiException {
+        buffer.write(prefix, 0, prefix.length);
+        try (JsonGenerator generator = transport.getObjectMapper().getFactory().createGenerator(buffer)) {
+            if (evaluationContext == null) {
+                generator.writeStartObject();
+                generator.writeEndObject();
+            } else {
+                writeRaw(generator, evaluationContext);
+            }
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+        buffer.write('}');
+    }
+
+    /**
+     * Writes a raw Java value with the encoding {@code FeelValue.fromRaw(value)} would produce.
+     */
+    private static void writeRaw(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof BigInteger integer) {
+            generator.writeNumber(integer);
+        } else if (value instanceof Number number) {
+            generator.writeNumber(new BigDecimal(number.toString()));
+        } else if (value instanceof String string) {
+            generator.writeString(string);
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof List<?> list) {
+            generator.writeStartArray();
+            for (Object element : list) {
+                writeRaw(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Map<?, ?> map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeRaw(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else {
+            // fallback - wrap as string
+            generator.writeString(value.toString());
+        }
+    }
+
+    /**
+     * Encodes {@code {<static fields>,"context":} once.
+     */
+    private static byte[] encodePrefix(EvaluationTransport transport, String businessId,
+                                       List<String> decisions, List<String> decisionServices) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int end;
+        try (JsonGenerator generator = transport.getObjectMapper().getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            if (businessId != null) {
+                generator.writeStringField(EvaluateStoredRequest.JSON_PROPERTY_BUSINESS_ID, businessId);
+            }
+            writeNames(generator, EvaluateStoredRequest.JSON_PROPERTY_DECISIONS, decisions);
+            writeNames(generator, EvaluateStoredRequest.JSON_PROPERTY_DECISION_SERVICES, decisionServices);
+            generator.writeFieldName(EvaluateStoredRequest.JSON_PROPERTY_CONTEXT);
+            // an empty raw value makes the generator emit the field's separator; the prefix ends there
+            generator.writeRawValue("");
+            generator.flush();
+            end = out.size();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode request template", e);
+        }
+        return Arrays.copyOf(out.toByteArray(), end);
+    }
+
+    private static void writeNames(JsonGenerator generator, String field, List<String> names) throws IOException {
+        if (names == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(field);
+        for (String name : names) {
+            generator.writeString(name);
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedEvaluation{xmlId=" + xmlId + ", template=" + new String(prefix, StandardCharsets.UTF_8) + "}";
+    }
+
+    private record Target(URI uri, String operationId) {
+    }
+
+    private record StoredTarget(UUID definitionId, URI uri) {
+    }
+
+    /**
+     * Growable byte buffer whose backing array is kept between calls.
+     */
+    private static final class Buffer extends OutputStream {
+
+        private byte[] bytes = new byte[1024];
+        private int count;
+        private boolean inUse;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        int size() {
+            return count;
+        }
+
+        void reset() {
+            count = 0;
+            if (bytes.length > MAX_RETAINED_BUFFER) {
+                // do not pin an outsized body to the thread
+                bytes = new byte[1024];
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+            }
+        }
+    }
+}
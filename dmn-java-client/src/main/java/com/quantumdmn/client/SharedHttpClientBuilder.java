@@ -0,0 +1,103 @@
+package com.quantumdmn.client;
+
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * {@link HttpClient.Builder} that builds its client once and hands out the same instance afterwards.
+ *
+ * <p>The generated {@link ApiClient} calls {@code build()} every time a client is requested, so each
+ * consumer would otherwise get its own connection pool. Sharing one instance lets the generated API
+ * and the asynchronous evaluation path reuse the same connections. An optional decorator wraps the
+ * built client, e.g. to route requests across several endpoints.</p>
+ */
+class SharedHttpClientBuilder implements HttpClient.Builder {
+
+    private final HttpClient.Builder delegate;
+    private final UnaryOperator<HttpClient> decorator;
+    private HttpClient client;
+
+    SharedHttpClientBuilder(HttpClient.Builder delegate) {
+        this(delegate, UnaryOperator.identity());
+    }
+
+    SharedHttpClientBuilder(HttpClient.Builder delegate, UnaryOperator<HttpClient> decorator) {
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public synchronized HttpClient build() {
+        if (client == null) {
+            client = decorator.apply(delegate.build());
+        }
+        return client;
+    }
+
+    @Override
+    public HttpClient.Builder cookieHandler(CookieHandler cookieHandler) {
+        delegate.cookieHandler(cookieHandler);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder connectTimeout(Duration duration) {
+        delegate.connectTimeout(duration);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder sslContext(SSLContext sslContext) {
+        delegate.sslContext(sslContext);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder sslParameters(SSLParameters sslParameters) {
+        delegate.sslParameters(sslParameters);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder executor(Executor executor) {
+        delegate.executor(executor);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder followRedirects(HttpClient.Redirect policy) {
+        delegate.followRedirects(policy);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder version(HttpClient.Version version) {
+        delegate.version(version);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder priority(int priority) {
+        delegate.priority(priority);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder proxy(ProxySelector proxySelector) {
+        delegate.proxy(proxySelector);
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder authenticator(Authenticator authenticator) {
+        delegate.authenticator(authenticator);
+        return this;
+    }
+}
@@ -0,0 +1,355 @@
+package com.quantumdmn.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumdmn.client.api.DefaultApi;
+import com.quantumdmn.client.model.EvaluationResult;
+import com.quantumdmn.client.model.Execution;
+import com.quantumdmn.client.model.FeelValue;
+import com.quantumdmn.client.model.HitRule;
+import com.quantumdmn.client.model.SimulationRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compares a simulation run against the recorded executions it replays.
+ *
+ * <p>The {@code RunSimulation} response is read row by row with the streaming parser. Rows are
+ * collected into batches; for each batch the recorded executions are fetched in parallel (at most
+ * {@code fetchConcurrency} requests at a time) and the batch is compared on a {@link ForkJoinPool}
+ * into a partial {@link SimulationReport} that is merged and then dropped. A batch is compared while
+ * the next one is read and fetched, so memory stays bounded by two batches, however many executions
+ * the simulation covers.</p>
+ *
+ * <p>Recorded outputs are expected to be a context keyed by decision name. Recorded executions carry
+ * no rule hits, so rule statistics describe the simulated definition only.</p>
+ *
+ * <pre>{@code
+ * SimulationAnalyzer analyzer = new SimulationAnalyzer(service, projectId);
+ * SimulationReport report = analyzer.analyze(definitionId, new SimulationRequest().xml(newXml));
+ * }</pre>
+ */
+public class SimulationAnalyzer {
+
+    private static final Logger LOG = Logger.getLogger(SimulationAnalyzer.class.getName());
+    private static final int SPLIT_THRESHOLD = 64;
+
+    private final DefaultApi api;
+    private final EvaluationTransport transport;
+    private final UUID projectId;
+    private final int fetchConcurrency;
+    private final int batchSize;
+    private final int maxSamples;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an analyzer fetching 16 executions at a time in batches of 512, on the common pool.
+     */
+    public SimulationAnalyzer(DmnService service, String projectId) {
+        this(service, projectId, 16, 512, 100, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param fetchConcurrency Maximum number of concurrent {@code GetExecution} calls
+     * @param batchSize        Number of simulation rows held in memory at a time
+     * @param maxSamples       Number of changed execution IDs kept in the report
+     * @param pool             Pool used to compare batches
+     */
+    public SimulationAnalyzer(DmnService service, String projectId, int fetchConcurrency, int batchSize,
+                              int maxSamples, ForkJoinPool pool) {
+        if (fetchConcurrency < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("fetchConcurrency and batchSize must be at least 1");
+        }
+        this.api = service.getApi();
+        this.transport = service.getTransport();
+        this.projectId = UUID.fromString(projectId);
+        this.fetchConcurrency = fetchConcurrency;
+        this.batchSize = batchSize;
+        this.maxSamples = maxSamples;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs a simulation of {@code request.xml} over the recorded executions of a definition and
+     * compares every simulated result with the recorded output.
+     *
+     * @param definitionId The stored definition whose executions are replayed
+     * @param request      The simulation request (new XML, optional start date)
+     * @return aggregated comparison; executions the server no longer has (404) are counted as missing
+     * @throws ApiException if the simulation request or fetching a recorded execution fails
+     */
+    public SimulationReport analyze(UUID definitionId, SimulationRequest request) throws ApiException {
+        URI uri = transport.simulateUri(projectId, definitionId);
+        ExecutorService fetchers = Executors.newFixedThreadPool(fetchConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "quantumdmn-simulation-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return transport.send(uri, "runSimulation", request, body -> analyze(body, fetchers));
+        } finally {
+            fetchers.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyzes an already received {@code SimulationResponse} body.
+     */
+    SimulationReport analyze(InputStream body, ExecutorService fetchers) throws IOException, ApiException {
+        ObjectMapper mapper = transport.getObjectMapper();
+        SimulationReport report = new SimulationReport(maxSamples);
+        ForkJoinTask<SimulationReport> comparing = null;
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected simulation response object but found " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (!"results".equals(field) || token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                List<Row> batch = new ArrayList<>(batchSize);
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    batch.add(readRow(parser, mapper));
+                    if (batch.size() == batchSize) {
+                        comparing = analyzeBatch(batch, fetchers, comparing, report);
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    comparing = analyzeBatch(batch, fetchers, comparing, report);
+                }
+            }
+            if (comparing != null) {
+                report.merge(comparing.join());
+                comparing = null;
+            }
+        } finally {
+            if (comparing != null) {
+                comparing.cancel(false);
+            }
+        }
+        return report;
+    }
+
+    private static Row readRow(JsonParser parser, ObjectMapper mapper) throws IOException {
+        String executionId = null;
+        Map<String, EvaluationResult> results = Map.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("executionId".equals(field) && token != JsonToken.VALUE_NULL) {
+                executionId = parser.getText();
+            } else if ("results".equals(field) && token == JsonToken.START_OBJECT) {
+                results = mapper.readValue(parser, EvaluationTransport.RESULT_TYPE);
+            } else {
+                // inputs are not needed for the comparison
+                parser.skipChildren();
+            }
+        }
+        return new Row(executionId, results);
+    }
+
+    /**
+     * Fetches the executions of {@code batch}, merges the comparison of the previous batch into
+     * {@code report} once it is done, and starts comparing {@code batch} without waiting for it.
+     *
+     * @param previous comparison of the previous batch, or {@code null}
+     * @return the comparison started for {@code batch}
+     * @throws ApiException if fetching an execution fails with anything but 404
+     */
+    private ForkJoinTask<SimulationReport> analyzeBatch(List<Row> batch, ExecutorService fetchers,
+                                                        ForkJoinTask<SimulationReport> previous,
+                                                        SimulationReport report) throws IOException, ApiException {
+        List<Future<Execution>> fetches = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            fetches.add(fetchers.submit(() -> fetch(row.executionId)));
+        }
+        Row[] rows = batch.toArray(new Row[0]);
+        Execution[] executions = new Execution[rows.length];
+        try {
+            for (int i = 0; i < rows.length; i++) {
+                executions[i] = fetches.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fetches.forEach(f -> f.cancel(true));
+            throw new InterruptedIOException("Interrupted while fetching executions");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof ApiException apiException ? apiException : new ApiException(cause);
+        }
+        if (previous != null) {
+            report.merge(previous.join());
+        }
+        return pool.submit(new CompareTask(rows, executions, 0, rows.length, maxSamples));
+    }
+
+    /**
+     * Fetches a recorded execution, or returns {@code null} if it does not exist.
+     */
+    private Execution fetch(String executionId) throws ApiException {
+        if (executionId == null) {
+            return null;
+        }
+        UUID id;
+        try {
+            id = UUID.fromString(executionId);
+        } catch (IllegalArgumentException e) {
+            LOG.log(Level.FINE, "Simulation row has an invalid execution ID " + executionId);
+            return null;
+        }
+        try {
+            return api.getExecution(projectId, id);
+        } catch (ApiException e) {
+            if (e.getCode() != 404) {
+                throw e;
+            }
+            LOG.log(Level.FINE, "Execution " + executionId + " no longer exists");
+            return null;
+        }
+    }
+
+    /**
+     * Compares a slice of a batch, splitting until slices are small enough.
+     */
+    private static final class CompareTask extends RecursiveTask<SimulationReport> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Row[] rows;
+        private final Execution[] executions;
+        private final int from;
+        private final int to;
+        private final int maxSamples;
+
+        CompareTask(Row[] rows, Execution[] executions, int from, int to, int maxSamples) {
+            this.rows = rows;
+            this.executions = executions;
+            this.from = from;
+            this.to = to;
+            this.maxSamples = maxSamples;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                SimulationReport report = new SimulationReport(maxSamples);
+                for (int i = from; i < to; i++) {
+                    compare(report, rows[i], executions[i]);
+                }
+                return report;
+            }
+            int mid = (from + to) >>> 1;
+            CompareTask left = new CompareTask(rows, executions, from, mid, maxSamples);
+            left.fork();
+            SimulationReport right = new CompareTask(rows, executions, mid, to, maxSamples).compute();
+            SimulationReport merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+
+    static void compare(SimulationReport report, Row row, Execution execution) {
+        if (execution == null) {
+            report.addMissing();
+            return;
+        }
+        FeelValue outputs = execution.getOutputs();
+        Map<String, FeelValue> recorded = outputs != null && outputs.isContext() ? outputs.asContext() : Map.of();
+        boolean rowChanged = false;
+        Set<String> hitRules = new HashSet<>();
+        for (Map.Entry<String, EvaluationResult> entry : row.results.entrySet()) {
+            EvaluationResult result = entry.getValue();
+            SimulationReport.DecisionStats stats = report.decision(entry.getKey());
+            if (result.getError() != null) {
+                stats.addError();
+            }
+            FeelValue expected = recorded.get(entry.getKey());
+            if (expected == null && result.getName() != null) {
+                expected = recorded.get(result.getName());
+            }
+            if (expected == null) {
+                stats.addNotRecorded();
+            } else {
+                FeelValue actual = result.getValue() == null ? FeelValue.ofNull() : result.getValue();
+                boolean changed = !sameValue(actual, expected);
+                stats.addComparison(changed);
+                rowChanged |= changed;
+                if (actual.isNumber() && expected.isNumber()) {
+                    stats.addDelta(actual.asNumber().subtract(expected.asNumber()));
+                }
+            }
+            if (result.getHitRules() != null) {
+                for (HitRule hit : result.getHitRules()) {
+                    hitRules.add(entry.getKey() + "/" + hit.getRuleID());
+                }
+            }
+        }
+        for (String rule : hitRules) {
+            report.rule(rule).addHit(rowChanged);
+        }
+        report.addRow(row.executionId, rowChanged);
+    }
+
+    /**
+     * Compares two values, treating numbers of different scale (1 and 1.0) as equal.
+     */
+    static boolean sameValue(FeelValue a, FeelValue b) {
+        if (a.isNumber() && b.isNumber()) {
+            return a.asNumber().compareTo(b.asNumber()) == 0;
+        }
+        if (a.isList() && b.isList()) {
+            List<FeelValue> left = a.asList();
+            List<FeelValue> right = b.asList();
+            if (left.size() != right.size()) {
+                return false;
+            }
+            for (int i = 0; i < left.size(); i++) {
+                if (!sameValue(left.get(i), right.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a.isContext() && b.isContext()) {
+            Map<String, FeelValue> left = a.asContext();
+            Map<String, FeelValue> right = b.asContext();
+            if (!left.keySet().equals(right.keySet())) {
+                return false;
+            }
+            for (Map.Entry<String, FeelValue> entry : left.entrySet()) {
+                if (!sameValue(entry.getValue(), right.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return a.equals(b);
+    }
+
+    record Row(String executionId, Map<String, EvaluationResult> results) {
+    }
+}
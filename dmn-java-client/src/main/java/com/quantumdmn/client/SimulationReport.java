@@ -0,0 +1,271 @@
+package com.quantumdmn.client;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregated comparison of a simulation run against the recorded executions it replayed.
+ *
+ * <p>The report only holds per-decision and per-rule counters plus a bounded sample of changed
+ * execution IDs, so its size depends on the DRG, not on the number of simulated executions.
+ * Reports are built and merged by {@link SimulationAnalyzer}.</p>
+ */
+public class SimulationReport {
+
+    private final int maxSamples;
+    private long rows;
+    private long changedRows;
+    private long missingExecutions;
+    private final Map<String, DecisionStats> decisions = new TreeMap<>();
+    private final Map<String, RuleStats> rules = new TreeMap<>();
+    private final List<String> changedExecutionIds = new ArrayList<>();
+
+    SimulationReport(int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Returns the number of simulated executions.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of executions where at least one decision differs from the recorded output.
+     */
+    public long getChangedRows() {
+        return changedRows;
+    }
+
+    /**
+     * Returns the number of simulated executions without a recorded execution (no ID, or not found).
+     */
+    public long getMissingExecutions() {
+        return missingExecutions;
+    }
+
+    /**
+     * Returns the statistics per decision, keyed by the result name.
+     */
+    public Map<String, DecisionStats> getDecisions() {
+        return Collections.unmodifiableMap(decisions);
+    }
+
+    /**
+     * Returns the hit statistics per rule, keyed {@code <decision>/<ruleID>}.
+     */
+    public Map<String, RuleStats> getRules() {
+        return Collections.unmodifiableMap(rules);
+    }
+
+    /**
+     * Returns a bounded sample of execution IDs whose outcome changed.
+     */
+    public List<String> getChangedExecutionIds() {
+        return Collections.unmodifiableList(changedExecutionIds);
+    }
+
+    void addRow(String executionId, boolean changed) {
+        rows++;
+        if (changed) {
+            changedRows++;
+            if (changedExecutionIds.size() < maxSamples) {
+                changedExecutionIds.add(executionId);
+            }
+        }
+    }
+
+    void addMissing() {
+        rows++;
+        missingExecutions++;
+    }
+
+    DecisionStats decision(String name) {
+        return decisions.computeIfAbsent(name, n -> new DecisionStats());
+    }
+
+    RuleStats rule(String key) {
+        return rules.computeIfAbsent(key, k -> new RuleStats());
+    }
+
+    void merge(SimulationReport other) {
+        rows += other.rows;
+        changedRows += other.changedRows;
+        missingExecutions += other.missingExecutions;
+        other.decisions.forEach((name, stats) -> decision(name).merge(stats));
+        other.rules.forEach((key, stats) -> rule(key).merge(stats));
+        for (String id : other.changedExecutionIds) {
+            if (changedExecutionIds.size() >= maxSamples) {
+                break;
+            }
+            changedExecutionIds.add(id);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SimulationReport{rows=").append(rows)
+            .append(", changedRows=").append(changedRows)
+            .append(", missingExecutions=").append(missingExecutions).append('}');
+        decisions.forEach((name, stats) -> sb.append("\n  ").append(name).append(": ").append(stats));
+        rules.forEach((key, stats) -> sb.append("\n  rule ").append(key).append(": ").append(stats));
+        return sb.toString();
+    }
+
+    /**
+     * Comparison counters for one decision.
+     */
+    public static class DecisionStats {
+
+        private long compared;
+        private long changed;
+        private long notRecorded;
+        private long errors;
+        private long numericDeltas;
+        private BigDecimal deltaSum = BigDecimal.ZERO;
+        private BigDecimal absDeltaSum = BigDecimal.ZERO;
+        private BigDecimal minDelta;
+        private BigDecimal maxDelta;
+
+        /** Number of executions where the decision was compared with a recorded value. */
+        public long getCompared() {
+            return compared;
+        }
+
+        /** Number of executions where the simulated value differs from the recorded one. */
+        public long getChanged() {
+            return changed;
+        }
+
+        /** Number of executions whose recorded output has no value for this decision. */
+        public long getNotRecorded() {
+            return notRecorded;
+        }
+
+        /** Number of simulated results that carry an evaluation error. */
+        public long getErrors() {
+            return errors;
+        }
+
+        /** Number of comparisons where both values were numbers. */
+        public long getNumericDeltas() {
+            return numericDeltas;
+        }
+
+        /** Sum of {@code simulated - recorded} over numeric comparisons. */
+        public BigDecimal getDeltaSum() {
+            return deltaSum;
+        }
+
+        /** Mean of {@code simulated - recorded} over numeric comparisons, or {@code null}. */
+        public BigDecimal getMeanDelta() {
+            return numericDeltas == 0 ? null : deltaSum.divide(BigDecimal.valueOf(numericDeltas), MathContext.DECIMAL64);
+        }
+
+        /** Mean absolute numeric delta, or {@code null}. */
+        public BigDecimal getMeanAbsDelta() {
+            return numericDeltas == 0 ? null : absDeltaSum.divide(BigDecimal.valueOf(numericDeltas), MathContext.DECIMAL64);
+        }
+
+        /** Smallest numeric delta, or {@code null}. */
+        public BigDecimal getMinDelta() {
+            return minDelta;
+        }
+
+        /** Largest numeric delta, or {@code null}. */
+        public BigDecimal getMaxDelta() {
+            return maxDelta;
+        }
+
+        void addComparison(boolean isChanged) {
+            compared++;
+            if (isChanged) {
+                changed++;
+            }
+        }
+
+        void addNotRecorded() {
+            notRecorded++;
+        }
+
+        void addError() {
+            errors++;
+        }
+
+        void addDelta(BigDecimal delta) {
+            numericDeltas++;
+            deltaSum = deltaSum.add(delta);
+            absDeltaSum = absDeltaSum.add(delta.abs());
+            minDelta = minDelta == null || delta.compareTo(minDelta) < 0 ? delta : minDelta;
+            maxDelta = maxDelta == null || delta.compareTo(maxDelta) > 0 ? delta : maxDelta;
+        }
+
+        void merge(DecisionStats other) {
+            compared += other.compared;
+            changed += other.changed;
+            notRecorded += other.notRecorded;
+            errors += other.errors;
+            numericDeltas += other.numericDeltas;
+            deltaSum = deltaSum.add(other.deltaSum);
+            absDeltaSum = absDeltaSum.add(other.absDeltaSum);
+            if (other.minDelta != null && (minDelta == null || other.minDelta.compareTo(minDelta) < 0)) {
+                minDelta = other.minDelta;
+            }
+            if (other.maxDelta != null && (maxDelta == null || other.maxDelta.compareTo(maxDelta) > 0)) {
+                maxDelta = other.maxDelta;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "compared=" + compared + ", changed=" + changed + ", notRecorded=" + notRecorded
+                + ", errors=" + errors + ", meanDelta=" + getMeanDelta() + ", minDelta=" + minDelta + ", maxDelta=" + maxDelta;
+        }
+    }
+
+    /**
+     * Hit counters for one rule of the simulated definition.
+     *
+     * <p>Recorded executions do not keep rule hits, so the shift is expressed as how often the rule
+     * fires across all simulated executions versus among the executions whose outcome changed.</p>
+     */
+    public static class RuleStats {
+
+        private long hits;
+        private long hitsInChangedRows;
+
+        /** Number of simulated executions in which the rule fired. */
+        public long getHits() {
+            return hits;
+        }
+
+        /** Number of changed executions in which the rule fired. */
+        public long getHitsInChangedRows() {
+            return hitsInChangedRows;
+        }
+
+        void addHit(boolean inChangedRow) {
+            hits++;
+            if (inChangedRow) {
+                hitsInChangedRows++;
+            }
+        }
+
+        void merge(RuleStats other) {
+            hits += other.hits;
+            hitsInChangedRows += other.hitsInChangedRows;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", hitsInChangedRows=" + hitsInChangedRows;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.quantumdmn.client.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One upstream QuantumDMN replica together with its routing state and metrics.
+ *
+ * <p>Latency is tracked as a peak-sensitive exponentially weighted moving average of response and
+ * health-probe times: a slower sample raises it at once, and between samples it decays towards the most
+ * recent sample rather than towards zero, so an idle replica keeps the cost it last showed and periodic
+ * health probes are what bring a replica that was slow once back into rotation. An endpoint
+ * is ejected after a configurable number of consecutive failures (I/O errors or 5xx responses) and
+ * becomes eligible again when a health probe succeeds or the ejection time elapses.</p>
+ */
+public class Endpoint {
+
+    private static final double EWMA_ALPHA = 0.3;
+    private static final double DECAY_NANOS = 10_000_000_000.0;
+
+    private final String baseUri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicReference<Latency> latency = new AtomicReference<>(new Latency(0.0, 0L, System.nanoTime()));
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+
+    Endpoint(String baseUri) {
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+    }
+
+    /**
+     * Returns the base URI of this replica, without a trailing slash.
+     */
+    public String getBaseUri() {
+        return baseUri;
+    }
+
+    /**
+     * Returns the number of requests currently in flight.
+     */
+    public int getOutstandingRequests() {
+        return outstanding.get();
+    }
+
+    /**
+     * Returns the moving average response time in milliseconds.
+     */
+    public double getLatencyEwmaMillis() {
+        return latencyEwmaNanos(System.nanoTime()) / 1_000_000.0;
+    }
+
+    /**
+     * Returns the total number of requests routed to this endpoint.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the total number of failed requests and health probes.
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Returns whether the endpoint currently receives traffic.
+     */
+    public boolean isHealthy() {
+        return !isEjected(System.nanoTime());
+    }
+
+    boolean isEjected(long now) {
+        return ejected && now - ejectedUntilNanos < 0;
+    }
+
+    /**
+     * Returns the moving average as of {@code now}, decayed towards the last sample by the time since it arrived.
+     */
+    double latencyEwmaNanos(long now) {
+        return latency.get().decayed(now);
+    }
+
+    void requestStarted() {
+        requests.incrementAndGet();
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished(long latencyNanos, boolean success, int failureThreshold, long ejectionNanos) {
+        outstanding.decrementAndGet();
+        recordLatency(latencyNanos);
+        if (success) {
+            recordSuccess();
+        } else {
+            recordFailure(failureThreshold, ejectionNanos);
+        }
+    }
+
+    void requestCancelled() {
+        outstanding.decrementAndGet();
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+        ejected = false;
+    }
+
+    void recordFailure(int failureThreshold, long ejectionNanos) {
+        failures.incrementAndGet();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+            ejected = true;
+        }
+    }
+
+    void recordLatency(long latencyNanos) {
+        long now = System.nanoTime();
+        latency.updateAndGet(previous -> {
+            double current = previous.decayed(now);
+            double next = latencyNanos >= current ? latencyNanos : current + EWMA_ALPHA * (latencyNanos - current);
+            return new Latency(next, latencyNanos, now);
+        });
+    }
+
+    private record Latency(double ewmaNanos, long lastNanos, long sampledAt) {
+
+        double decayed(long now) {
+            long age = now - sampledAt;
+            return age <= 0 ? ewmaNanos : lastNanos + (ewmaNanos - lastNanos) * Math.exp(-age / DECAY_NANOS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint{baseUri=" + baseUri + ", healthy=" + isHealthy() + ", outstanding=" + getOutstandingRequests()
+            + ", latencyEwmaMillis=" + getLatencyEwmaMillis() + ", requests=" + getRequestCount()
+            + ", failures=" + getFailureCount() + "}";
+    }
+}
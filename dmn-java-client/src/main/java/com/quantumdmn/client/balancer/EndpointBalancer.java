@@ -0,0 +1,229 @@
+package com.quantumdmn.client.balancer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side load balancer over several QuantumDMN base URLs.
+ *
+ * <p>Each request goes to the better of two randomly chosen healthy endpoints ("power of two choices"),
+ * compared either by latency EWMA weighted with outstanding requests or by outstanding requests alone.
+ * The EWMA is fed by responses and health probes, jumps up on slow samples and decays towards the latest one.
+ * Endpoints that fail {@code failureThreshold} times in a row are ejected for {@code ejectionTime}; a
+ * background probe calls {@code /health} on every endpoint each {@code healthCheckInterval} and brings
+ * ejected endpoints back as soon as they answer. If every endpoint is ejected, all of them are used.</p>
+ *
+ * <pre>{@code
+ * EndpointBalancer balancer = new EndpointBalancer(List.of("https://dmn-a.internal", "https://dmn-b.internal"));
+ * DmnService service = new DmnService(balancer, tokenProvider);
+ * }</pre>
+ */
+public class EndpointBalancer implements AutoCloseable {
+
+    /**
+     * How endpoints are compared when choosing between two candidates.
+     */
+    public enum Strategy {
+        /** Lowest latency EWMA multiplied by (outstanding requests + 1). */
+        LEAST_LATENCY,
+        /** Fewest outstanding requests. */
+        LEAST_OUTSTANDING
+    }
+
+    private final List<Endpoint> endpoints;
+    private final Strategy strategy;
+    private final Duration healthCheckInterval;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private volatile HttpClient client;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a latency-aware balancer probing every 10 seconds and ejecting an endpoint for
+     * 30 seconds after 3 consecutive failures.
+     */
+    public EndpointBalancer(List<String> baseUrls) {
+        this(baseUrls, Strategy.LEAST_LATENCY, Duration.ofSeconds(10), 3, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Creates a balancer.
+     *
+     * @param baseUrls            The API base URLs of all replicas
+     * @param strategy            How to compare candidate endpoints
+     * @param healthCheckInterval Interval between {@code /health} probes ({@link Duration#ZERO} disables probing)
+     * @param failureThreshold    Consecutive failures that eject an endpoint
+     * @param ejectionTime        How long an ejected endpoint is skipped unless a probe succeeds earlier
+     */
+    public EndpointBalancer(List<String> baseUrls, Strategy strategy, Duration healthCheckInterval,
+                            int failureThreshold, Duration ejectionTime) {
+        if (baseUrls == null || baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one base URL is required");
+        }
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        List<Endpoint> list = new ArrayList<>(baseUrls.size());
+        for (String baseUrl : baseUrls) {
+            list.add(new Endpoint(baseUrl));
+        }
+        this.endpoints = List.copyOf(list);
+        this.strategy = strategy;
+        this.healthCheckInterval = healthCheckInterval;
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionTime.toNanos();
+    }
+
+    /**
+     * Returns all endpoints with their current metrics.
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Returns the base URI that requests are built against before routing (the first endpoint).
+     */
+    public String getPrimaryBaseUri() {
+        return endpoints.get(0).getBaseUri();
+    }
+
+    /**
+     * Picks the endpoint for the next request.
+     */
+    Endpoint choose() {
+        int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+        long now = System.nanoTime();
+        List<Endpoint> candidates = new ArrayList<>(size);
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = endpoints;
+        }
+        int count = candidates.size();
+        if (count == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return score(a, now) <= score(b, now) ? a : b;
+    }
+
+    private double score(Endpoint endpoint, long now) {
+        int outstanding = endpoint.getOutstandingRequests();
+        if (strategy == Strategy.LEAST_OUTSTANDING) {
+            return outstanding;
+        }
+        return endpoint.latencyEwmaNanos(now) * (outstanding + 1);
+    }
+
+    /**
+     * Rewrites a URI built against the primary base URI so it targets {@code endpoint}.
+     */
+    URI route(URI uri, Endpoint endpoint) {
+        String primary = getPrimaryBaseUri();
+        String value = uri.toString();
+        if (endpoint == endpoints.get(0) || !value.startsWith(primary)) {
+            return uri;
+        }
+        return URI.create(endpoint.getBaseUri() + value.substring(primary.length()));
+    }
+
+    void requestFinished(Endpoint endpoint, long startNanos, boolean success) {
+        endpoint.requestFinished(System.nanoTime() - startNanos, success, failureThreshold, ejectionNanos);
+    }
+
+    void requestCancelled(Endpoint endpoint) {
+        endpoint.requestCancelled();
+    }
+
+    /**
+     * Starts background health probes using {@code client}. Called by the balancing HTTP client.
+     */
+    synchronized void start(HttpClient client) {
+        if (this.client == null) {
+            this.client = client;
+        }
+        if (scheduler != null || healthCheckInterval.isZero() || healthCheckInterval.isNegative()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dmn-endpoint-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::probeAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void probeAll() {
+        for (Endpoint endpoint : endpoints) {
+            probe(endpoint);
+        }
+    }
+
+    /**
+     * Calls {@code /health} on one endpoint over the balanced client's connection pool, bypassing endpoint
+     * selection, and records the outcome like a background probe.
+     *
+     * @return future completed once the endpoint answered with a 2xx status, or exceptionally with an
+     *         {@link IOException} describing the failure
+     * @throws IllegalStateException if the balancer is not used by a {@code DmnService} yet
+     */
+    public CompletableFuture<Void> probe(Endpoint endpoint) {
+        HttpClient client = this.client;
+        if (client == null) {
+            throw new IllegalStateException("EndpointBalancer is not attached to an HTTP client");
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(endpoint.getBaseUri() + "/health")).GET();
+        if (!healthCheckInterval.isZero() && !healthCheckInterval.isNegative()) {
+            builder.timeout(healthCheckInterval);
+        }
+        long start = System.nanoTime();
+        return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+            if (error == null && response.statusCode() / 100 == 2) {
+                endpoint.recordLatency(System.nanoTime() - start);
+                endpoint.recordSuccess();
+                return null;
+            }
+            endpoint.recordFailure(failureThreshold, ejectionNanos);
+            throw new CompletionException(error != null ? error
+                : new IOException("Health check of " + endpoint.getBaseUri() + " returned " + response.statusCode()));
+        });
+    }
+
+    /**
+     * Stops background health probes.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
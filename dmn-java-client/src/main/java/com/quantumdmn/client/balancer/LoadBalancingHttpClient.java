@@ -0,0 +1,145 @@
+package com.quantumdmn.client.balancer;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * {@link HttpClient} that routes every request through an {@link EndpointBalancer}.
+ *
+ * <p>Requests are built against the balancer's primary base URI (as the generated API does) and
+ * rewritten to the chosen endpoint before they are sent on the wrapped client, which keeps one
+ * connection pool for all endpoints. Timing and outcome of each exchange feed the endpoint metrics.</p>
+ */
+public class LoadBalancingHttpClient extends HttpClient {
+
+    private final HttpClient delegate;
+    private final EndpointBalancer balancer;
+
+    /**
+     * Wraps {@code delegate} and starts the balancer's health probes on it.
+     */
+    public LoadBalancingHttpClient(HttpClient delegate, EndpointBalancer balancer) {
+        this.delegate = delegate;
+        this.balancer = balancer;
+        balancer.start(delegate);
+    }
+
+    public EndpointBalancer getBalancer() {
+        return balancer;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        Endpoint endpoint = balancer.choose();
+        HttpRequest routed = route(request, endpoint);
+        long start = System.nanoTime();
+        endpoint.requestStarted();
+        boolean success = false;
+        try {
+            HttpResponse<T> response = delegate.send(routed, responseBodyHandler);
+            success = response.statusCode() < 500;
+            return response;
+        } finally {
+            balancer.requestFinished(endpoint, start, success);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        return sendAsync(request, responseBodyHandler, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler,
+                                                            HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        Endpoint endpoint = balancer.choose();
+        HttpRequest routed = route(request, endpoint);
+        long start = System.nanoTime();
+        endpoint.requestStarted();
+        CompletableFuture<HttpResponse<T>> exchange = delegate.sendAsync(routed, responseBodyHandler, pushPromiseHandler);
+        // track completion on a dependent stage so cancelling the returned future still reaches the exchange
+        exchange.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                balancer.requestCancelled(endpoint);
+            } else {
+                balancer.requestFinished(endpoint, start, error == null && response.statusCode() < 500);
+            }
+        });
+        return exchange;
+    }
+
+    private HttpRequest route(HttpRequest request, Endpoint endpoint) {
+        URI target = balancer.route(request.uri(), endpoint);
+        if (target == request.uri()) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true).uri(target).build();
+    }
+
+    // --- delegated configuration ---
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+
+    @Override
+    public WebSocket.Builder newWebSocketBuilder() {
+        return delegate.newWebSocketBuilder();
+    }
+}
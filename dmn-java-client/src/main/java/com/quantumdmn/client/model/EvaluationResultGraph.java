@@ -0,0 +1,387 @@
+package com.quantumdmn.client.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Indexed view of an evaluation response ({@code Map<String, EvaluationResult>}).
+ *
+ * <p>The response is read with the streaming parser. Depending on the {@link ParseMode}, the
+ * recursive {@code dependencies} and {@code hitRules} subtrees are decoded eagerly, kept as raw
+ * token buffers and decoded on first access, or skipped entirely. Top-level results are indexed by
+ * decision ID and name while parsing. In {@link ParseMode#DEFER} a lookup that misses the index decodes
+ * deferred subtrees breadth-first, one node at a time, and stops once the match's level is indexed, so
+ * only the levels down to the match are materialized. {@link ParseMode#FULL} indexes in the same
+ * breadth-first order, so both modes resolve a key to the same node. Indexed lookups are O(1).</p>
+ *
+ * <pre>{@code
+ * EvaluationResultGraph graph = engine.evaluateGraph("loan-approval", context, ParseMode.DEFER);
+ * FeelValue score = graph.getValue("Credit Score");
+ * }</pre>
+ */
+public class EvaluationResultGraph {
+
+    /**
+     * How {@code dependencies} and {@code hitRules} subtrees are handled while parsing.
+     */
+    public enum ParseMode {
+        /** Decode the whole tree up front. */
+        FULL,
+        /** Keep subtrees as raw tokens and decode them when first accessed. */
+        DEFER,
+        /** Discard subtrees; accessing them throws {@link IllegalStateException}. */
+        SKIP
+    }
+
+    private static final TypeReference<List<HitRule>> HIT_RULES_TYPE = new TypeReference<>() {};
+
+    private final ParseMode mode;
+    private final Map<String, Node> results;
+    private final Map<String, Node> byDecisionId = new HashMap<>();
+    private final Map<String, Node> byName = new HashMap<>();
+    private final Deque<Node> unindexed = new ArrayDeque<>();
+
+    private EvaluationResultGraph(ParseMode mode, Map<String, Node> results) {
+        this.mode = mode;
+        this.results = Collections.unmodifiableMap(results);
+        for (Node node : results.values()) {
+            index(node, 0);
+        }
+        if (mode != ParseMode.SKIP) {
+            unindexed.addAll(results.values());
+        }
+        if (mode == ParseMode.FULL) {
+            // same breadth-first order as the lazy DEFER path, so both modes resolve a key to the same node
+            while (!unindexed.isEmpty()) {
+                expand();
+            }
+        }
+    }
+
+    /**
+     * Parses an evaluation response body. The stream is closed afterwards.
+     */
+    public static EvaluationResultGraph parse(InputStream body, ObjectMapper mapper, ParseMode mode) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            return parse(parser, mapper, mode);
+        }
+    }
+
+    /**
+     * Parses an evaluation response body.
+     */
+    public static EvaluationResultGraph parse(byte[] body, ObjectMapper mapper, ParseMode mode) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            return parse(parser, mapper, mode);
+        }
+    }
+
+    private static EvaluationResultGraph parse(JsonParser parser, ObjectMapper mapper, ParseMode mode) throws IOException {
+        parser.setCodec(mapper);
+        Map<String, Node> results = new LinkedHashMap<>();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected evaluation result object but found " + parser.currentToken());
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            parser.nextToken();
+            results.put(key, readNode(parser, mapper, mode));
+        }
+        return new EvaluationResultGraph(mode, results);
+    }
+
+    /**
+     * Returns the top-level results keyed as in the response.
+     */
+    public Map<String, Node> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the parse mode this graph was created with.
+     */
+    public ParseMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Finds a result anywhere in the graph by its decision ID.
+     */
+    public Optional<Node> findByDecisionId(String decisionId) {
+        return find(null, decisionId);
+    }
+
+    /**
+     * Finds a result anywhere in the graph by its name.
+     */
+    public Optional<Node> findByName(String name) {
+        return find(name, null);
+    }
+
+    /**
+     * Returns the value of the result with this name, falling back to the decision ID. The shallowest
+     * match wins; on the same level a name match is preferred.
+     *
+     * @throws IllegalArgumentException if no such result exists
+     */
+    public FeelValue getValue(String nameOrDecisionId) {
+        return find(nameOrDecisionId, nameOrDecisionId)
+            .orElseThrow(() -> new IllegalArgumentException("No result named " + nameOrDecisionId))
+            .getValue();
+    }
+
+    /**
+     * Materializes the generated model for every top-level result, decoding deferred subtrees.
+     */
+    public Map<String, EvaluationResult> toEvaluationResults() {
+        Map<String, EvaluationResult> converted = new LinkedHashMap<>();
+        results.forEach((key, node) -> converted.put(key, node.toEvaluationResult()));
+        return converted;
+    }
+
+    /**
+     * Looks a result up by name and/or decision ID, indexing deferred subtrees breadth-first until found.
+     */
+    private synchronized Optional<Node> find(String name, String decisionId) {
+        Node node = lookup(name, decisionId);
+        while (node == null && !unindexed.isEmpty()) {
+            expand();
+            node = lookup(name, decisionId);
+        }
+        if (node != null) {
+            // finish the match's level, where a name match may still be waiting to be decoded
+            while (!unindexed.isEmpty() && unindexed.peek().depth < node.depth) {
+                expand();
+            }
+            node = lookup(name, decisionId);
+        }
+        return Optional.ofNullable(node);
+    }
+
+    /**
+     * Returns the shallowest match, preferring the name on the same level.
+     */
+    private Node lookup(String name, String decisionId) {
+        Node byNameMatch = name == null ? null : byName.get(name);
+        Node byIdMatch = decisionId == null ? null : byDecisionId.get(decisionId);
+        if (byNameMatch == null) {
+            return byIdMatch;
+        }
+        return byIdMatch != null && byIdMatch.depth < byNameMatch.depth ? byIdMatch : byNameMatch;
+    }
+
+    /**
+     * Indexes the dependencies of the next node in breadth-first order.
+     */
+    private void expand() {
+        Node node = unindexed.poll();
+        for (Node dependency : node.getDependencies()) {
+            index(dependency, node.depth + 1);
+            unindexed.add(dependency);
+        }
+    }
+
+    private void index(Node node, int depth) {
+        node.depth = depth;
+        if (node.decisionId != null) {
+            byDecisionId.putIfAbsent(node.decisionId, node);
+        }
+        if (node.name != null) {
+            byName.putIfAbsent(node.name, node);
+        }
+    }
+
+    private static Node readNode(JsonParser parser, ObjectMapper mapper, ParseMode mode) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected evaluation result object but found " + parser.currentToken());
+        }
+        Node node = new Node(mapper, mode);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "decisionId" -> node.decisionId = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "name" -> node.name = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "error" -> node.error = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "type" -> node.type = token == JsonToken.VALUE_NULL ? null : EvaluationResult.TypeEnum.fromValue(parser.getText());
+                case "value" -> node.value = token == JsonToken.VALUE_NULL ? FeelValue.ofNull() : mapper.readValue(parser, FeelValue.class);
+                case "hitRules" -> {
+                    switch (mode) {
+                        case FULL -> node.hitRules = token == JsonToken.VALUE_NULL ? List.of() : mapper.readValue(parser, HIT_RULES_TYPE);
+                        case DEFER -> node.deferredHitRules = buffer(parser);
+                        case SKIP -> parser.skipChildren();
+                    }
+                }
+                case "dependencies" -> {
+                    switch (mode) {
+                        case FULL -> node.dependencies = readNodes(parser, mapper, mode);
+                        case DEFER -> node.deferredDependencies = buffer(parser);
+                        case SKIP -> parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return node;
+    }
+
+    private static List<Node> readNodes(JsonParser parser, ObjectMapper mapper, ParseMode mode) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return List.of();
+        }
+        List<Node> nodes = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            nodes.add(readNode(parser, mapper, mode));
+        }
+        return nodes;
+    }
+
+    private static TokenBuffer buffer(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+        return buffer;
+    }
+
+    /**
+     * One decision, BKM, KPI, decision service or input in the result graph.
+     */
+    public static class Node {
+
+        private final ObjectMapper mapper;
+        private final ParseMode mode;
+        private String decisionId;
+        private String name;
+        private String error;
+        private EvaluationResult.TypeEnum type;
+        private FeelValue value = FeelValue.ofNull();
+        private List<HitRule> hitRules;
+        private List<Node> dependencies;
+        private TokenBuffer deferredHitRules;
+        private TokenBuffer deferredDependencies;
+        private int depth;
+
+        private Node(ObjectMapper mapper, ParseMode mode) {
+            this.mapper = mapper;
+            this.mode = mode;
+        }
+
+        public String getDecisionId() {
+            return decisionId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public EvaluationResult.TypeEnum getType() {
+            return type;
+        }
+
+        public FeelValue getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the rules that fired, decoding them on first access in {@link ParseMode#DEFER}.
+         *
+         * @throws IllegalStateException in {@link ParseMode#SKIP}
+         */
+        public synchronized List<HitRule> getHitRules() {
+            if (hitRules == null) {
+                checkNotSkipped("hitRules");
+                hitRules = deferredHitRules == null ? List.of() : decode(deferredHitRules, p -> p.currentToken() == JsonToken.VALUE_NULL
+                    ? List.of() : mapper.readValue(p, HIT_RULES_TYPE));
+                deferredHitRules = null;
+            }
+            return hitRules;
+        }
+
+        /**
+         * Returns the nested results, decoding them on first access in {@link ParseMode#DEFER}.
+         *
+         * @throws IllegalStateException in {@link ParseMode#SKIP}
+         */
+        public synchronized List<Node> getDependencies() {
+            if (dependencies == null) {
+                checkNotSkipped("dependencies");
+                dependencies = deferredDependencies == null ? List.of() : decode(deferredDependencies, p -> readNodes(p, mapper, mode));
+                deferredDependencies = null;
+            }
+            return dependencies;
+        }
+
+        /**
+         * Returns whether the nested results are still held as raw tokens.
+         */
+        synchronized boolean isDependenciesDeferred() {
+            return deferredDependencies != null;
+        }
+
+        /**
+         * Converts this node and its subtree to the generated model.
+         * In {@link ParseMode#SKIP} the subtrees are left empty.
+         */
+        public EvaluationResult toEvaluationResult() {
+            EvaluationResult result = new EvaluationResult()
+                .decisionId(decisionId)
+                .name(name)
+                .error(error)
+                .type(type)
+                .value(value);
+            if (mode != ParseMode.SKIP) {
+                result.hitRules(new ArrayList<>(getHitRules()));
+                List<EvaluationResult> converted = new ArrayList<>();
+                for (Node dependency : getDependencies()) {
+                    converted.add(dependency.toEvaluationResult());
+                }
+                result.dependencies(converted);
+            }
+            return result;
+        }
+
+        private void checkNotSkipped(String field) {
+            if (mode == ParseMode.SKIP) {
+                throw new IllegalStateException(field + " were skipped while parsing (ParseMode.SKIP)");
+            }
+        }
+
+        private <T> T decode(TokenBuffer buffer, Decoder<T> decoder) {
+            try (JsonParser parser = buffer.asParser(mapper)) {
+                parser.nextToken();
+                return decoder.decode(parser);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Node{decisionId=" + decisionId + ", name=" + name + ", type=" + type + ", value=" + value + "}";
+        }
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,68 @@
+package com.quantumdmn.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws ApiException {
+        Bulkhead bulkhead = new Bulkhead("loans", 1, 0, Duration.ofSeconds(1));
+        bulkhead.acquire();
+
+        assertThrows(Bulkhead.BulkheadFullException.class, bulkhead::acquire);
+
+        bulkhead.release();
+        bulkhead.acquire();
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActiveCount());
+    }
+
+    @Test
+    void testTimesOutWaitingForPermit() throws ApiException {
+        Bulkhead bulkhead = new Bulkhead("loans", 1, 1, Duration.ofMillis(50));
+        bulkhead.acquire();
+
+        assertThrows(Bulkhead.BulkheadFullException.class, bulkhead::acquire);
+        assertEquals(0, bulkhead.getQueuedCount());
+        bulkhead.release();
+    }
+
+    @Test
+    void testQueuedAsyncCallRunsWhenPermitIsReleased() {
+        Bulkhead bulkhead = new Bulkhead("loans", 1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> first = new CompletableFuture<>();
+
+        CompletableFuture<String> running = bulkhead.executeAsync(() -> first);
+        CompletableFuture<String> queued = bulkhead.executeAsync(() -> CompletableFuture.completedFuture("second"));
+        CompletableFuture<String> rejected = bulkhead.executeAsync(() -> CompletableFuture.completedFuture("third"));
+
+        assertEquals(1, bulkhead.getQueuedCount());
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(Bulkhead.BulkheadFullException.class, e.getCause());
+
+        first.complete("first");
+        assertEquals("first", running.join());
+        assertEquals("second", queued.join());
+        assertEquals(0, bulkhead.getActiveCount());
+    }
+
+    @Test
+    void testCancellingQueuedCallFreesItsSlot() {
+        Bulkhead bulkhead = new Bulkhead("loans", 1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> first = new CompletableFuture<>();
+        bulkhead.executeAsync(() -> first);
+
+        CompletableFuture<String> queued = bulkhead.executeAsync(() -> CompletableFuture.completedFuture("never"));
+        queued.cancel(true);
+
+        assertEquals(0, bulkhead.getQueuedCount());
+        first.complete("first");
+        assertEquals(0, bulkhead.getActiveCount());
+    }
+}
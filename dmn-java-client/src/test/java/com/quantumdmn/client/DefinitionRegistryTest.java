@@ -0,0 +1,199 @@
+package com.quantumdmn.client;
+
+import com.quantumdmn.client.model.Definition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefinitionRegistryTest {
+
+    private static final UUID PROJECT_ID = UUID.fromString("6f1c2a44-3f0e-4c1a-9d65-0c5b2e8f4a10");
+
+    private StubDmnServer server;
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger listings = new AtomicInteger();
+    private final AtomicInteger latestVersion = new AtomicInteger(1);
+    private DmnService service;
+    private volatile CountDownLatch gate;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubDmnServer.start();
+        server.route("/projects/" + PROJECT_ID + "/definitions/by-xml-id/", exchange -> {
+            lookups.incrementAndGet();
+            awaitGate();
+            String query = exchange.getRequestURI().getQuery();
+            int version = query != null ? Integer.parseInt(query.substring("version=".length())) : latestVersion.get();
+            StubDmnServer.respond(exchange, definitionJson(version));
+        });
+        server.route("/projects/" + PROJECT_ID + "/definitions/latest", exchange -> {
+            listings.incrementAndGet();
+            StubDmnServer.respond(exchange, "{\"data\":[" + definitionJson(latestVersion.get()) + "],"
+                + "\"pagination\":{\"page\":1,\"pageSize\":100,\"total\":1,\"totalPages\":1}}");
+        });
+        service = server.newService();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void testCachesConcreteAndPinnedLatestVersions() throws ApiException {
+        try (DefinitionRegistry registry = new DefinitionRegistry(service, Duration.ofMinutes(5))) {
+            Definition v1 = registry.getDefinition(PROJECT_ID, "loan", 1);
+            assertSame(v1, registry.getDefinition(PROJECT_ID, "loan", 1));
+
+            latestVersion.set(2);
+            Definition latest = registry.getDefinition(PROJECT_ID, "loan", null);
+            assertEquals(2, latest.getVersion());
+            latestVersion.set(3);
+            assertEquals(2, registry.getDefinition(PROJECT_ID, "loan", null).getVersion());
+
+            assertEquals(2, lookups.get());
+            assertSame(latest, registry.getDefinition(PROJECT_ID, "loan", 2));
+        }
+    }
+
+    @Test
+    void testRefreshPublishesVersionChanges() throws ApiException {
+        List<DefinitionRegistry.DefinitionChangeEvent> events = new CopyOnWriteArrayList<>();
+        try (DefinitionRegistry registry = new DefinitionRegistry(service, Duration.ofMinutes(5))) {
+            registry.addListener(events::add);
+
+            registry.refresh(PROJECT_ID);
+            assertTrue(events.isEmpty());
+
+            latestVersion.set(2);
+            registry.refresh(PROJECT_ID);
+            assertEquals(1, events.size());
+            assertEquals(1, events.get(0).getPreviousVersion());
+            assertEquals(2, events.get(0).getDefinition().getVersion());
+            assertEquals(2, registry.getDefinition(PROJECT_ID, "loan", null).getVersion());
+            assertEquals(0, lookups.get());
+        }
+    }
+
+    @Test
+    void testPinOnlyMovesForward() throws ApiException {
+        List<DefinitionRegistry.DefinitionChangeEvent> events = new CopyOnWriteArrayList<>();
+        try (DefinitionRegistry registry = new DefinitionRegistry(service, Duration.ofMinutes(5))) {
+            registry.addListener(events::add);
+            latestVersion.set(3);
+            registry.refresh(PROJECT_ID);
+
+            // a lagging replica answers with an older version, then the same version is listed again
+            latestVersion.set(2);
+            registry.refresh(PROJECT_ID);
+            latestVersion.set(3);
+            registry.refresh(PROJECT_ID);
+            assertTrue(events.isEmpty());
+            assertEquals(3, registry.getDefinition(PROJECT_ID, "loan", null).getVersion());
+
+            latestVersion.set(4);
+            registry.refresh(PROJECT_ID);
+            assertEquals(1, events.size());
+            assertEquals(3, events.get(0).getPreviousVersion());
+            assertEquals(4, events.get(0).getDefinition().getVersion());
+        }
+    }
+
+    @Test
+    void testBackgroundRefreshKeepsOneSchedulePerProject() throws Exception {
+        try (DefinitionRegistry registry = new DefinitionRegistry(service, Duration.ofMinutes(5))) {
+            registry.startBackgroundRefresh(PROJECT_ID, Duration.ofMillis(10));
+            awaitListings(3);
+
+            // the hourly schedule replaces the fast one instead of running next to it
+            registry.startBackgroundRefresh(PROJECT_ID, Duration.ofHours(1));
+            awaitListings(listings.get() + 1);
+            int settled = listings.get();
+            Thread.sleep(200);
+            assertTrue(listings.get() <= settled + 1, "replaced schedule kept running");
+
+            registry.stopBackgroundRefresh(PROJECT_ID);
+            int stopped = listings.get();
+            registry.startBackgroundRefresh(PROJECT_ID, Duration.ofHours(1));
+            awaitListings(stopped + 1);
+        }
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneRequest() throws Exception {
+        gate = new CountDownLatch(1);
+        try (DefinitionRegistry registry = new DefinitionRegistry(service, Duration.ofMinutes(5))) {
+            CompletableFuture<Definition> first = registry.getDefinitionAsync(PROJECT_ID, "loan", null);
+            CompletableFuture<Definition> second = registry.getDefinitionAsync(PROJECT_ID, "loan", null);
+            assertFalse(first.isDone());
+
+            gate.countDown();
+            assertEquals(1, first.get(10, TimeUnit.SECONDS).getVersion());
+            assertSame(first.get(), second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, lookups.get());
+        }
+    }
+
+    @Test
+    void testServesStalePinWhileOneRefreshRuns() throws Exception {
+        try (DefinitionRegistry registry = new DefinitionRegistry(service, Duration.ZERO)) {
+            assertEquals(1, registry.getDefinition(PROJECT_ID, "loan", null).getVersion());
+
+            gate = new CountDownLatch(1);
+            latestVersion.set(2);
+            // the pin is stale on every lookup, but lookups neither block nor start a second refresh
+            assertEquals(1, registry.getDefinition(PROJECT_ID, "loan", null).getVersion());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (lookups.get() < 2) {
+                assertTrue(System.nanoTime() < deadline, "refresh was not started");
+                Thread.sleep(10);
+            }
+            for (int i = 0; i < 5; i++) {
+                assertEquals(1, registry.getDefinition(PROJECT_ID, "loan", null).getVersion());
+            }
+            assertEquals(2, lookups.get());
+
+            gate.countDown();
+            while (registry.getDefinitionAsync(PROJECT_ID, "loan", null).get().getVersion() != 2) {
+                assertTrue(System.nanoTime() < deadline, "refresh did not complete");
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private void awaitListings(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (listings.get() < count) {
+            assertTrue(System.nanoTime() < deadline, "background refresh did not run");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitGate() {
+        CountDownLatch current = gate;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String definitionJson(int version) {
+        return StubDmnServer.definitionJson(new UUID(0, version), "loan", version);
+    }
+}
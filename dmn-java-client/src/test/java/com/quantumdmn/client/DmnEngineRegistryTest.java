@@ -0,0 +1,159 @@
+package com.quantumdmn.client;
+
+import com.quantumdmn.client.model.EvaluationResult;
+import com.quantumdmn.client.model.EvaluationResultGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DmnEngineRegistryTest {
+
+    private static final String LOANS_ID = "6f1c2a44-3f0e-4c1a-9d65-0c5b2e8f4a10";
+    private static final String CARDS_ID = "9b2d7e61-0c4a-4f3e-8a15-7d6e5f4c3b21";
+
+    private StubDmnServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private DmnEngineRegistry engines;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubDmnServer.start();
+        server.route("/projects", exchange -> {
+            requestCount.incrementAndGet();
+            StubDmnServer.readBody(exchange);
+            StubDmnServer.respond(exchange, "{\"score\":{\"name\":\"score\",\"value\":1}}");
+        });
+        engines = new DmnEngineRegistry(server.newService(), null, 4, 8, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void testAliasAndProjectIdShareOneEngine() {
+        DmnEngine loans = engines.register("loans", LOANS_ID, 2, 3, Duration.ofMillis(500));
+
+        assertSame(loans, engines.getEngine("loans"));
+        assertSame(loans, engines.getEngine(LOANS_ID));
+        assertSame(loans, engines.getEngine(UUID.fromString(LOANS_ID)));
+        assertEquals(Map.of("loans", loans), engines.getRegisteredEngines());
+
+        Bulkhead bulkhead = loans.getBulkhead();
+        assertEquals("loans", bulkhead.getName());
+        assertEquals(2, bulkhead.getMaxConcurrent());
+        assertEquals(3, bulkhead.getMaxQueue());
+        assertEquals(Duration.ofMillis(500), bulkhead.getMaxWait());
+    }
+
+    @Test
+    void testRejectsDuplicateRegistrations() {
+        engines.register("loans", LOANS_ID, 2, 3, Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> engines.register("other", LOANS_ID, 2, 3, Duration.ofSeconds(1)));
+        assertThrows(IllegalStateException.class, () -> engines.register("loans", CARDS_ID, 2, 3, Duration.ofSeconds(1)));
+
+        // the rejected alias must not leave its project behind with the rejected limits
+        assertEquals(4, engines.getEngine(CARDS_ID).getBulkhead().getMaxConcurrent());
+        assertEquals(Map.of("loans", engines.getEngine("loans")), engines.getRegisteredEngines());
+    }
+
+    @Test
+    void testUnregisteredProjectGetsDefaultEngine() {
+        DmnEngine cards = engines.getEngine(CARDS_ID);
+
+        assertSame(cards, engines.getEngine(UUID.fromString(CARDS_ID)));
+        assertEquals(UUID.fromString(CARDS_ID), cards.getProjectId());
+        assertEquals(4, cards.getBulkhead().getMaxConcurrent());
+        assertEquals(8, cards.getBulkhead().getMaxQueue());
+        assertEquals(Duration.ofSeconds(1), cards.getBulkhead().getMaxWait());
+        assertTrue(engines.getRegisteredEngines().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> engines.getEngine("unknown-alias"));
+    }
+
+    @Test
+    void testEveryEvaluationPathHoldsAPermit() throws Exception {
+        DmnEngine loans = engines.register("loans", LOANS_ID, 1, 0, Duration.ofSeconds(1));
+        Bulkhead bulkhead = loans.getBulkhead();
+        PreparedEvaluation prepared = loans.prepare("decision");
+        Map<String, Object> context = Map.of("n", 1);
+
+        bulkhead.acquire();
+        try {
+            assertThrows(Bulkhead.BulkheadFullException.class, () -> loans.evaluate("decision", context));
+            assertThrows(Bulkhead.BulkheadFullException.class,
+                () -> loans.evaluateGraph("decision", context, EvaluationResultGraph.ParseMode.SKIP));
+            assertRejected(loans.evaluateAsync("decision", context));
+            assertThrows(Bulkhead.BulkheadFullException.class, () -> prepared.evaluate(context));
+            assertRejected(prepared.evaluateAsync(context));
+            assertRejected(firstResult(loans.evaluateAll("decision", single(context))));
+            assertEquals(0, requestCount.get());
+        } finally {
+            bulkhead.release();
+        }
+
+        assertEquals(1, loans.evaluate("decision", context).get("score").getValue().asNumber().intValue());
+        assertEquals(1, prepared.evaluateAsync(context).get(10, TimeUnit.SECONDS).size());
+        assertEquals(1, firstResult(loans.evaluateAll("decision", single(context))).get(10, TimeUnit.SECONDS).size());
+        assertEquals(3, requestCount.get());
+        assertEquals(0, bulkhead.getActiveCount());
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(Bulkhead.BulkheadFullException.class, e.getCause());
+    }
+
+    private static Flow.Publisher<Map<String, Object>> single(Map<String, Object> context) {
+        SubmissionPublisher<Map<String, Object>> publisher = new SubmissionPublisher<>();
+        CompletableFuture.runAsync(() -> {
+            // wait for the subscriber so the item is not dropped
+            while (!publisher.hasSubscribers()) {
+                Thread.onSpinWait();
+            }
+            publisher.submit(context);
+            publisher.close();
+        });
+        return publisher;
+    }
+
+    private static CompletableFuture<Map<String, EvaluationResult>> firstResult(Flow.Publisher<Map<String, EvaluationResult>> results) {
+        CompletableFuture<Map<String, EvaluationResult>> first = new CompletableFuture<>();
+        results.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Map<String, EvaluationResult> item) {
+                first.complete(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                first.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                first.completeExceptionally(new IllegalStateException("completed without results"));
+            }
+        });
+        return first;
+    }
+}
@@ -0,0 +1,325 @@
+package com.quantumdmn.client;
+
+import com.quantumdmn.client.model.EvaluateDesignRequest;
+import com.quantumdmn.client.model.EvaluationResult;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DmnEngineTest {
+
+    private static final String PROJECT_ID = "6f1c2a44-3f0e-4c1a-9d65-0c5b2e8f4a10";
+
+    private StubDmnServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private DmnEngine engine;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubDmnServer.start();
+        server.route("/projects", this::echo);
+        server.route("/evaluate", this::echo);
+        engine = new DmnEngine(server.getBaseUrl(), "test-token", PROJECT_ID);
+    }
+
+    private void echo(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        // echo the "n" input back as the decision value
+        String n = StubDmnServer.readBody(exchange).replaceAll(".*\"n\":(\\d+).*", "$1");
+        StubDmnServer.respond(exchange, "{\"score\":{\"name\":\"score\",\"value\":" + n + "}}");
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void testEvaluateAllEmitsResultsInInputOrder() throws Exception {
+        SubmissionPublisher<Map<String, Object>> inputs = new SubmissionPublisher<>();
+        List<Integer> values = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        engine.evaluateAll("decision", inputs, DmnEngine.withMaxConcurrency(4)).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Map<String, EvaluationResult> item) {
+                values.add(item.get("score").getValue().asNumber().intValue());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            inputs.submit(Map.of("n", i));
+        }
+        inputs.close();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(20, values.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, values.get(i));
+        }
+    }
+
+    @Test
+    void testEvaluateAllHonoursDemand() throws Exception {
+        ManualPublisher inputs = new ManualPublisher();
+        CountDownLatch received = new CountDownLatch(2);
+
+        engine.evaluateAll("decision", inputs).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(2);
+            }
+
+            @Override
+            public void onNext(Map<String, EvaluationResult> item) {
+                received.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertEquals(2, inputs.requested.get());
+        inputs.emit(Map.of("n", 0));
+        inputs.emit(Map.of("n", 1));
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        // no demand is left downstream, so nothing more may be pulled from upstream
+        assertEquals(2, inputs.requested.get());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void testCancelAbortsUpstreamAndInFlightRequests() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.route("/projects", exchange -> {
+            arrived.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubDmnServer.respond(exchange, 500);
+        });
+        ManualPublisher inputs = new ManualPublisher();
+        List<CompletableFuture<Map<String, EvaluationResult>>> inFlight = new CopyOnWriteArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        EvaluationPublisher results = new EvaluationPublisher(inputs, input -> {
+            CompletableFuture<Map<String, EvaluationResult>> future = engine.evaluateAsync("decision", input);
+            inFlight.add(future);
+            return future;
+        }, 4);
+
+        try {
+            results.subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    subscription.set(s);
+                    s.request(1);
+                }
+
+                @Override
+                public void onNext(Map<String, EvaluationResult> item) {
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            inputs.emit(Map.of("n", 0));
+            assertTrue(arrived.await(10, TimeUnit.SECONDS));
+
+            subscription.get().cancel();
+
+            assertTrue(inputs.cancelled);
+            assertEquals(1, inFlight.size());
+            assertTrue(inFlight.get(0).isCancelled());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testUpstreamErrorFollowsEarlierResults() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.route("/projects", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo(exchange);
+        });
+        ManualPublisher inputs = new ManualPublisher();
+        List<String> signals = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        engine.evaluateAll("decision", inputs).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Map<String, EvaluationResult> item) {
+                signals.add(String.valueOf(item.get("score").getValue().asNumber().intValue()));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add(throwable.getMessage());
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+
+        inputs.emit(Map.of("n", 0));
+        inputs.emit(Map.of("n", 1));
+        inputs.fail(new IllegalStateException("inputs broke"));
+        assertTrue(signals.isEmpty());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("0", "1", "inputs broke"), signals);
+    }
+
+    @Test
+    void testDropsInputsAfterCancel() {
+        ManualPublisher inputs = new ManualPublisher();
+        AtomicInteger evaluations = new AtomicInteger();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        new EvaluationPublisher(inputs, input -> {
+            evaluations.incrementAndGet();
+            return new CompletableFuture<>();
+        }, 4).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(4);
+            }
+
+            @Override
+            public void onNext(Map<String, EvaluationResult> item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        subscription.get().cancel();
+        // an upstream that does not observe cancellation right away keeps emitting
+        inputs.emit(Map.of("n", 0));
+        inputs.emit(Map.of("n", 1));
+
+        assertTrue(inputs.cancelled);
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    void testEvaluateAsyncPropagatesErrors() {
+        server.route("/projects", exchange -> StubDmnServer.respond(exchange, 404));
+
+        var future = engine.evaluateAsync("missing", Map.of());
+        Exception e = assertThrows(Exception.class, future::join);
+        ApiException apiException = assertInstanceOf(ApiException.class, e.getCause());
+        assertEquals(404, apiException.getCode());
+    }
+
+    @Test
+    void testEvaluateDesignGoesThroughBulkhead() throws ApiException {
+        Bulkhead bulkhead = new Bulkhead("design", 1, 0, Duration.ofSeconds(1));
+        DmnEngine limited = new DmnEngine(server.newService(), PROJECT_ID, null, bulkhead);
+        KpiWindowStore kpis = new KpiWindowStore(Duration.ofMinutes(10));
+        EvaluateDesignRequest request = new EvaluateDesignRequest().xml("<definitions/>").context(Map.of("n", 3));
+
+        bulkhead.acquire();
+        assertThrows(Bulkhead.BulkheadFullException.class, () -> limited.evaluateDesign(request, kpis));
+        assertEquals(0, requestCount.get());
+
+        bulkhead.release();
+        assertEquals(3, limited.evaluateDesign(request, kpis).get("score").getValue().asNumber().intValue());
+        assertEquals(0, bulkhead.getActiveCount());
+    }
+
+    /**
+     * Upstream publisher driven by the test thread that records demand and cancellation.
+     */
+    private static final class ManualPublisher implements Flow.Publisher<Map<String, Object>> {
+
+        final AtomicLong requested = new AtomicLong();
+        volatile boolean cancelled;
+        private Flow.Subscriber<? super Map<String, Object>> subscriber;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Map<String, Object>> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+
+        void emit(Map<String, Object> item) {
+            subscriber.onNext(item);
+        }
+
+        void fail(Throwable error) {
+            subscriber.onError(error);
+        }
+    }
+}
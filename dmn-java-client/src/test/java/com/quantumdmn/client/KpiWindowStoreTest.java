@@ -0,0 +1,156 @@
+package com.quantumdmn.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumdmn.client.model.EvaluateDesignRequest;
+import com.quantumdmn.client.model.EvaluateDesignRequestKpiInitialStateValueInner;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KpiWindowStoreTest {
+
+    private static final long NOW = Instant.parse("2026-01-01T12:00:00Z").toEpochMilli();
+
+    private final ObjectMapper mapper = new ApiClient().getObjectMapper();
+
+    @Test
+    void testEvictsPointsOutsideWindow() {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofMinutes(10));
+        store.append("rate", NOW - 20 * 60_000, "approved", 1);
+        store.append("rate", NOW - 5 * 60_000, "approved", 0);
+        store.append("rate", NOW, "approved", 1);
+
+        // the first point falls out of the window relative to the later appends
+        assertEquals(2, store.size("rate"));
+
+        store.evictExpired(NOW + 6 * 60_000);
+        assertEquals(1, store.size("rate"));
+    }
+
+    @Test
+    void testOverwritesOldestPointWhenFull() {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofDays(1), 20);
+        for (int i = 0; i < 50; i++) {
+            store.append("volume", NOW + i, "count", i);
+        }
+        assertEquals(20, store.size("volume"));
+
+        List<EvaluateDesignRequestKpiInitialStateValueInner> points = store.toKpiInitialState(NOW + 50).get("volume");
+        assertEquals(20, points.size());
+        assertEquals(30, points.get(0).getMetrics().get(0).getValue().asNumber().intValue());
+        assertEquals(49, points.get(19).getMetrics().get(0).getValue().asNumber().intValue());
+    }
+
+    @Test
+    void testWritesOnlyLiveWindow() throws IOException {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofMinutes(10));
+        store.append("rate", NOW - 60_000, new String[] {"approved", "amount"}, new double[] {1, 2500.5});
+        store.append("rate", NOW, "approved", 0);
+
+        JsonNode state = mapper.readTree(write(generator -> store.writeKpiInitialState(generator, NOW + 9 * 60_000 + 30_000)));
+
+        JsonNode points = state.get("rate");
+        assertEquals(1, points.size());
+        assertEquals("2026-01-01T12:00:00Z", points.get(0).get("timestamp").asText());
+        assertEquals("approved", points.get(0).get("metrics").get(0).get("field").asText());
+        assertEquals(1, points.get(0).get("metrics").size());
+    }
+
+    @Test
+    void testDesignRequestKeepsOtherFieldsAndForeignKpis() throws IOException {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofMinutes(10));
+        store.append("rate", NOW, "approved", 1);
+        EvaluateDesignRequest request = new EvaluateDesignRequest()
+            .xml("<definitions/>")
+            .kpiInitialState(Map.of(
+                "rate", List.of(new EvaluateDesignRequestKpiInitialStateValueInner()),
+                "volume", List.of(new EvaluateDesignRequestKpiInitialStateValueInner())));
+
+        JsonNode body = mapper.readTree(write(generator -> store.writeDesignRequest(generator, mapper, request, NOW)));
+
+        assertEquals("<definitions/>", body.get("xml").asText());
+        JsonNode state = body.get("kpiInitialState");
+        assertEquals(1, state.get("volume").size());
+        assertEquals(1.0, state.get("rate").get(0).get("metrics").get(0).get("value").asDouble());
+    }
+
+    @Test
+    void testDesignRequestMatchesModelSerialization() throws IOException {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofMinutes(10));
+        EvaluateDesignRequest request = new EvaluateDesignRequest()
+            .xml("<definitions/>")
+            .additionalXmls(List.of("<included/>"))
+            .context(Map.of("amount", 2500, "applicant", Map.of("age", 42)))
+            .decisions(List.of("Approval"))
+            .kpiInitialState(Map.of("volume", List.of(new EvaluateDesignRequestKpiInitialStateValueInner())));
+
+        JsonNode body = mapper.readTree(write(generator -> store.writeDesignRequest(generator, mapper, request, NOW)));
+
+        assertEquals(mapper.valueToTree(request), body);
+        assertFalse(body.has(EvaluateDesignRequest.JSON_PROPERTY_DECISION_SERVICES));
+    }
+
+    @Test
+    void testClearDropsKpiUntilNextAppend() {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofMinutes(10));
+        store.append("rate", NOW, "approved", 1);
+        store.append("rate", NOW + 1, "approved", 0);
+
+        store.clear("rate");
+        assertEquals(0, store.size("rate"));
+        assertTrue(store.getKpiIds().isEmpty());
+
+        store.append("rate", NOW + 2, "approved", 1);
+        assertEquals(1, store.size("rate"));
+    }
+
+    @Test
+    void testRejectsNonFiniteValues() {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofMinutes(10));
+
+        assertThrows(IllegalArgumentException.class, () -> store.append("rate", NOW, "approved", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> store.append("rate", NOW, "approved", Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class,
+            () -> store.append("rate", NOW, new String[] {"approved", "amount"}, new double[] {1, Double.NEGATIVE_INFINITY}));
+        assertEquals(0, store.size("rate"));
+    }
+
+    @Test
+    void testConcurrentAppendsAreNotLost() throws InterruptedException {
+        KpiWindowStore store = new KpiWindowStore(Duration.ofDays(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    store.append("rate", NOW + i, "approved", i % 2);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(8000, store.size("rate"));
+    }
+
+    private String write(EvaluationTransport.BodyWriter writer) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            writer.write(generator);
+        }
+        return out.toString();
+    }
+}
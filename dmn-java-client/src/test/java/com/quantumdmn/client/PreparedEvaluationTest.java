@@ -0,0 +1,127 @@
+package com.quantumdmn.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumdmn.client.model.EvaluateStoredRequest;
+import com.quantumdmn.client.model.EvaluationResult;
+import com.quantumdmn.client.model.FeelValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreparedEvaluationTest {
+
+    private static final String PROJECT_ID = "6f1c2a44-3f0e-4c1a-9d65-0c5b2e8f4a10";
+    private static final String DEFINITION_ID = "0d6c1f0e-8a57-4f61-b5e3-2f9d7c4a1b22";
+
+    private StubDmnServer server;
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final ObjectMapper mapper = new ApiClient().getObjectMapper();
+    private DmnService service;
+    private DmnEngine engine;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubDmnServer.start();
+        server.route("/projects", exchange -> {
+            paths.add(exchange.getRequestURI().toString());
+            bodies.add(StubDmnServer.readBody(exchange));
+            StubDmnServer.respond(exchange, exchange.getRequestMethod().equals("GET")
+                ? StubDmnServer.definitionJson(UUID.fromString(DEFINITION_ID), "loan-approval", 3)
+                : "{\"Approval\":{\"name\":\"Approval\",\"value\":\"APPROVED\"}}");
+        });
+        service = server.newService();
+        engine = new DmnEngine(service, PROJECT_ID);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void testBodyMatchesGeneratedRequest() throws Exception {
+        PreparedEvaluation prepared = engine.prepare("loan-approval", DmnEngine.withVersion(3),
+            DmnEngine.withBusinessId("order-1"), DmnEngine.withDecisions("Approval"));
+        Map<String, Object> applicant = new HashMap<>();
+        applicant.put("name", "Ada");
+        applicant.put("tags", List.of("new", 7));
+        Map<String, Object> context = Map.of(
+            "income", 50000,
+            "rate", 2.5,
+            "limit", new BigDecimal("1.10"),
+            "approved", true,
+            "applicant", applicant);
+
+        Map<String, EvaluationResult> results = prepared.evaluate(context);
+
+        assertEquals("APPROVED", results.get("Approval").getValue().asString());
+        assertEquals("/projects/" + PROJECT_ID + "/definitions/by-xml-id/loan-approval/evaluate?version=3", paths.get(0));
+        assertEquals(mapper.readTree(mapper.writeValueAsBytes(expectedRequest(context))), mapper.readTree(bodies.get(0)));
+    }
+
+    @Test
+    void testReusesBufferAcrossCalls() throws Exception {
+        PreparedEvaluation prepared = engine.prepare("loan-approval");
+
+        byte[] large = prepared.encode(Map.of("note", "x".repeat(5000)));
+        byte[] buffer = PreparedEvaluation.threadBuffer();
+        byte[] small = prepared.encode(Map.of("n", 1));
+
+        assertSame(buffer, PreparedEvaluation.threadBuffer());
+        assertTrue(buffer.length > 5000);
+        assertEquals("{\"context\":{\"n\":1}}", new String(small, StandardCharsets.UTF_8));
+        assertEquals(large.length, prepared.encode(Map.of("note", "x".repeat(5000))).length);
+        // bodies are copies, never views of the reused buffer
+        assertNotSame(buffer, small);
+        assertEquals('{', large[0]);
+    }
+
+    @Test
+    void testEvaluateAsync() throws Exception {
+        PreparedEvaluation prepared = engine.prepare("loan-approval", DmnEngine.withDecisionServices("Scoring"));
+
+        Map<String, EvaluationResult> results = prepared.evaluateAsync(Map.of("n", 1)).get();
+
+        assertEquals("APPROVED", results.get("Approval").getValue().asString());
+        assertEquals("{\"decisionServices\":[\"Scoring\"],\"context\":{\"n\":1}}", bodies.get(0));
+    }
+
+    @Test
+    void testEvaluateAsyncResolvesDefinitionThroughRegistry() throws Exception {
+        try (DefinitionRegistry registry = new DefinitionRegistry(service)) {
+            PreparedEvaluation prepared = new DmnEngine(service, PROJECT_ID, registry).prepare("loan-approval");
+
+            Map<String, EvaluationResult> results = prepared.evaluateAsync(Map.of("n", 1)).get(10, TimeUnit.SECONDS);
+            prepared.evaluateAsync(Map.of("n", 2)).get(10, TimeUnit.SECONDS);
+
+            assertEquals("APPROVED", results.get("Approval").getValue().asString());
+            assertEquals(List.of(
+                "/projects/" + PROJECT_ID + "/definitions/by-xml-id/loan-approval",
+                "/projects/" + PROJECT_ID + "/definitions/" + DEFINITION_ID + "/evaluate",
+                "/projects/" + PROJECT_ID + "/definitions/" + DEFINITION_ID + "/evaluate"), paths);
+        }
+    }
+
+    private static EvaluateStoredRequest expectedRequest(Map<String, Object> context) {
+        Map<String, FeelValue> feelCtx = new HashMap<>();
+        context.forEach((key, value) -> feelCtx.put(key, FeelValue.fromRaw(value)));
+        EvaluateStoredRequest request = new EvaluateStoredRequest();
+        request.setContext(feelCtx);
+        request.setBusinessId("order-1");
+        request.setDecisions(List.of("Approval"));
+        return request;
+    }
+}
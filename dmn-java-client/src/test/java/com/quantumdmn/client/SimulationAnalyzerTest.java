@@ -0,0 +1,136 @@
+package com.quantumdmn.client;
+
+import com.quantumdmn.client.model.FeelValue;
+import com.quantumdmn.client.model.SimulationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationAnalyzerTest {
+
+    private static final String PROJECT_ID = "6f1c2a44-3f0e-4c1a-9d65-0c5b2e8f4a10";
+    private static final UUID DEFINITION_ID = UUID.fromString("0d6c1f0e-8a57-4f61-b5e3-2f9d7c4a1b22");
+    private static final int ROWS = 300;
+
+    private StubDmnServer server;
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile int unavailableStatus = 404;
+    private DmnService service;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubDmnServer.start(8);
+        server.route("/projects", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/simulate")) {
+                StubDmnServer.readBody(exchange);
+                StubDmnServer.respond(exchange, simulationResponse());
+                return;
+            }
+            fetches.incrementAndGet();
+            int n = Integer.parseInt(path.substring(path.length() - 12), 16);
+            if (n == 7) {
+                StubDmnServer.respond(exchange, unavailableStatus);
+                return;
+            }
+            // the recorded limit was 100 for every execution; approval was recorded for even n only
+            StubDmnServer.respond(exchange, "{\"id\":\"" + executionId(n) + "\",\"definition_id\":\"" + DEFINITION_ID + "\","
+                + "\"executed_at\":\"2026-01-01T00:00:00Z\",\"inputs\":{},"
+                + "\"outputs\":{\"Limit\":100" + (n % 2 == 0 ? ",\"Approval\":\"APPROVED\"" : "") + "}}");
+        });
+        service = server.newService();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+        pool.shutdownNow();
+        service.close();
+    }
+
+    @Test
+    void testComparesSimulationWithRecordedExecutions() throws ApiException {
+        SimulationAnalyzer analyzer = new SimulationAnalyzer(service, PROJECT_ID, 4, 50, 5, pool);
+
+        SimulationReport report = analyzer.analyze(DEFINITION_ID, new SimulationRequest().xml("<definitions/>"));
+
+        assertEquals(ROWS, report.getRows());
+        assertEquals(1, report.getMissingExecutions());
+        assertEquals(ROWS, fetches.get());
+
+        // every third execution now gets a limit of 110 instead of 100
+        SimulationReport.DecisionStats limit = report.getDecisions().get("Limit");
+        assertEquals(ROWS - 1, limit.getCompared());
+        long raised = countRows(n -> n % 3 == 0 && n != 7);
+        assertEquals(raised, limit.getChanged());
+        assertEquals(0, new BigDecimal(10 * raised).compareTo(limit.getDeltaSum()));
+        assertEquals(0, BigDecimal.TEN.compareTo(limit.getMaxDelta()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(limit.getMinDelta()));
+
+        SimulationReport.DecisionStats approval = report.getDecisions().get("Approval");
+        assertEquals(countRows(n -> n % 2 == 1 && n != 7), approval.getNotRecorded());
+        assertEquals(0, approval.getChanged());
+
+        assertEquals(raised, report.getChangedRows());
+        assertEquals(5, report.getChangedExecutionIds().size());
+        SimulationReport.RuleStats raise = report.getRules().get("Limit/raise");
+        assertEquals(countRows(n -> n % 3 == 0 && n != 7), raise.getHits());
+        assertEquals(raised, raise.getHitsInChangedRows());
+        assertEquals(0, report.getRules().get("Limit/keep").getHitsInChangedRows());
+    }
+
+    @Test
+    void testFetchFailureOtherThanNotFoundFailsTheAnalysis() {
+        unavailableStatus = 500;
+        SimulationAnalyzer analyzer = new SimulationAnalyzer(service, PROJECT_ID, 4, 50, 5, pool);
+
+        ApiException e = assertThrows(ApiException.class,
+            () -> analyzer.analyze(DEFINITION_ID, new SimulationRequest().xml("<definitions/>")));
+        assertEquals(500, e.getCode());
+    }
+
+    @Test
+    void testNumbersOfDifferentScaleAreEqual() {
+        assertTrue(SimulationAnalyzer.sameValue(
+            FeelValue.fromRaw(List.of(1, Map.of("a", 2.0))),
+            FeelValue.fromRaw(List.of(new BigDecimal("1.00"), Map.of("a", 2)))));
+    }
+
+    private static long countRows(IntPredicate predicate) {
+        return IntStream.range(0, ROWS).filter(predicate).count();
+    }
+
+    private static String executionId(int n) {
+        return String.format("00000000-0000-4000-8000-%012x", n);
+    }
+
+    private static String simulationResponse() {
+        StringBuilder sb = new StringBuilder("{\"results\":[");
+        for (int n = 0; n < ROWS; n++) {
+            if (n > 0) {
+                sb.append(',');
+            }
+            boolean raise = n % 3 == 0;
+            sb.append("{\"executionId\":\"").append(executionId(n)).append("\",")
+                .append("\"executedAt\":\"2026-01-01T00:00:00Z\",\"inputs\":{\"n\":").append(n).append("},")
+                .append("\"results\":{")
+                .append("\"Limit\":{\"name\":\"Limit\",\"value\":").append(raise ? "110.0" : "100")
+                .append(",\"hitRules\":[{\"ruleID\":\"").append(raise ? "raise" : "keep").append("\"}]},")
+                .append("\"Approval\":{\"name\":\"Approval\",\"value\":\"APPROVED\"}}}");
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,117 @@
+package com.quantumdmn.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process QuantumDMN stand-in for tests, bound to an ephemeral port on the loopback interface.
+ *
+ * <pre>{@code
+ * StubDmnServer server = StubDmnServer.start();
+ * server.route("/projects", exchange -> StubDmnServer.respond(exchange, "{}"));
+ * DmnService service = server.newService();
+ * }</pre>
+ */
+public final class StubDmnServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Set<String> paths = new HashSet<>();
+
+    private StubDmnServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server handling one request at a time.
+     */
+    public static StubDmnServer start() throws IOException {
+        return start(0);
+    }
+
+    /**
+     * Starts a server handling up to {@code threads} requests concurrently (0 for one at a time).
+     */
+    public static StubDmnServer start(int threads) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService executor = threads > 0 ? Executors.newFixedThreadPool(threads) : null;
+        server.setExecutor(executor);
+        server.start();
+        return new StubDmnServer(server, executor);
+    }
+
+    /**
+     * Routes every request below {@code path} to {@code handler}, replacing an earlier route for the same path.
+     */
+    public synchronized StubDmnServer route(String path, HttpHandler handler) {
+        if (!paths.add(path)) {
+            server.removeContext(path);
+        }
+        server.createContext(path, handler);
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Creates a service against this server with a static token.
+     */
+    public DmnService newService() {
+        return new DmnService(getBaseUrl(), "test-token");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public static String readBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    public static void respond(HttpExchange exchange, String json) throws IOException {
+        respond(exchange, 200, json);
+    }
+
+    public static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Responds with a status and no body.
+     */
+    public static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    /**
+     * Returns a {@code Definition} as the server serializes it.
+     */
+    public static String definitionJson(UUID id, String xmlId, int version) {
+        return "{\"id\":\"" + id + "\",\"name\":\"" + xmlId + "\",\"definition_id\":\"" + xmlId + "\","
+            + "\"xml\":\"<definitions/>\",\"version\":" + version + ",\"created_at\":\"2024-01-01T00:00:00Z\"}";
+    }
+}
@@ -0,0 +1,174 @@
+package com.quantumdmn.client.balancer;
+
+import com.quantumdmn.client.ApiException;
+import com.quantumdmn.client.DmnService;
+import com.quantumdmn.client.StubDmnServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointBalancerTest {
+
+    private final List<StubDmnServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(StubDmnServer::close);
+    }
+
+    @Test
+    void testSpreadsRequestsAcrossEndpoints() throws Exception {
+        AtomicInteger hitsA = new AtomicInteger();
+        AtomicInteger hitsB = new AtomicInteger();
+        String a = startServer(hitsA, 200);
+        String b = startServer(hitsB, 200);
+
+        EndpointBalancer balancer = new EndpointBalancer(List.of(a, b), EndpointBalancer.Strategy.LEAST_OUTSTANDING,
+            Duration.ZERO, 3, Duration.ofSeconds(30));
+        try (DmnService service = new DmnService(balancer, () -> "test-token")) {
+            for (int i = 0; i < 40; i++) {
+                service.getApi().getHealth();
+            }
+        }
+
+        assertEquals(40, hitsA.get() + hitsB.get());
+        assertTrue(hitsA.get() > 0);
+        assertTrue(hitsB.get() > 0);
+        assertEquals(40, balancer.getEndpoints().stream().mapToLong(Endpoint::getRequestCount).sum());
+    }
+
+    @Test
+    void testEjectsFailingEndpoint() throws Exception {
+        AtomicInteger healthyHits = new AtomicInteger();
+        AtomicInteger failingHits = new AtomicInteger();
+        String healthy = startServer(healthyHits, 200);
+        String failing = startServer(failingHits, 503);
+
+        // sequential requests leave both endpoints at zero outstanding, so every pick is a fair coin flip
+        // independent of connection setup latency
+        EndpointBalancer balancer = new EndpointBalancer(List.of(failing, healthy), EndpointBalancer.Strategy.LEAST_OUTSTANDING,
+            Duration.ZERO, 2, Duration.ofMinutes(5));
+        try (DmnService service = new DmnService(balancer, () -> "test-token")) {
+            for (int i = 0; i < 50; i++) {
+                try {
+                    service.getApi().getHealth();
+                } catch (ApiException e) {
+                    assertEquals(503, e.getCode());
+                }
+            }
+        }
+
+        assertTrue(failingHits.get() <= 2, "failing endpoint should be ejected after two failures");
+        assertFalse(balancer.getEndpoints().get(0).isHealthy());
+        assertTrue(balancer.getEndpoints().get(1).isHealthy());
+    }
+
+    @Test
+    void testEjectsFastFailingEndpointUnderLeastLatency() throws Exception {
+        AtomicInteger healthyHits = new AtomicInteger();
+        AtomicInteger failingHits = new AtomicInteger();
+        String healthy = startServer(healthyHits, () -> 200, 100);
+        String failing = startServer(failingHits, () -> 503, 0);
+
+        // fast 503s give the failing endpoint the lower EWMA, so only ejection keeps traffic away from it
+        EndpointBalancer balancer = new EndpointBalancer(List.of(failing, healthy), EndpointBalancer.Strategy.LEAST_LATENCY,
+            Duration.ZERO, 2, Duration.ofMinutes(5));
+        try (DmnService service = new DmnService(balancer, () -> "test-token")) {
+            for (int i = 0; i < 12; i++) {
+                try {
+                    service.getApi().getHealth();
+                } catch (ApiException e) {
+                    assertEquals(503, e.getCode());
+                }
+            }
+        }
+
+        assertEquals(2, failingHits.get());
+        assertEquals(10, healthyHits.get());
+        assertFalse(balancer.getEndpoints().get(0).isHealthy());
+        assertTrue(balancer.getEndpoints().get(1).isHealthy());
+    }
+
+    @Test
+    void testHealthProbeReadmitsEjectedEndpoint() throws Exception {
+        AtomicInteger status = new AtomicInteger(503);
+        String flaky = startServer(new AtomicInteger(), status::get, 0);
+        String healthy = startServer(new AtomicInteger(), () -> 200, 0);
+
+        EndpointBalancer balancer = new EndpointBalancer(List.of(flaky, healthy), EndpointBalancer.Strategy.LEAST_LATENCY,
+            Duration.ofMillis(50), 1, Duration.ofMinutes(5));
+        Endpoint endpoint = balancer.getEndpoints().get(0);
+        try (DmnService service = new DmnService(balancer, () -> "test-token")) {
+            awaitHealthy(endpoint, false);
+            assertTrue(endpoint.getFailureCount() > 0);
+            assertEquals(0.0, endpoint.getLatencyEwmaMillis());
+
+            status.set(200);
+
+            // the ejection time is far away, so only a successful probe can bring the endpoint back
+            awaitHealthy(endpoint, true);
+            assertTrue(endpoint.getLatencyEwmaMillis() > 0.0);
+        }
+    }
+
+    @Test
+    void testLatencyEwmaDecaysTowardsLastSample() {
+        Endpoint endpoint = new Endpoint("http://127.0.0.1:1/");
+        endpoint.recordLatency(2_000_000_000L);
+        long now = System.nanoTime();
+        double slow = endpoint.latencyEwmaNanos(now);
+        assertEquals(2_000_000_000.0, slow, 1.0);
+
+        // an idle endpoint keeps the cost it last showed instead of looking like the fastest one
+        assertEquals(slow, endpoint.latencyEwmaNanos(now + Duration.ofMinutes(5).toNanos()), 1.0);
+
+        endpoint.recordLatency(1_000_000L);
+        now = System.nanoTime();
+        double recovering = endpoint.latencyEwmaNanos(now);
+        assertTrue(recovering < slow);
+        assertTrue(recovering > 1_000_000.0);
+        double settled = endpoint.latencyEwmaNanos(now + Duration.ofMinutes(5).toNanos());
+        assertEquals(1_000_000.0, settled, 1_000.0);
+
+        // a slower sample counts in full at once
+        endpoint.recordLatency(3_000_000_000L);
+        assertEquals(3_000_000_000.0, endpoint.latencyEwmaNanos(System.nanoTime()), 1.0);
+    }
+
+    private static void awaitHealthy(Endpoint endpoint, boolean healthy) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (endpoint.isHealthy() != healthy) {
+            assertTrue(System.nanoTime() - deadline < 0, "endpoint did not become " + (healthy ? "healthy" : "ejected"));
+            Thread.sleep(10);
+        }
+    }
+
+    private String startServer(AtomicInteger hits, int status) throws IOException {
+        return startServer(hits, () -> status, 0);
+    }
+
+    private String startServer(AtomicInteger hits, IntSupplier status, long delayMillis) throws IOException {
+        StubDmnServer server = StubDmnServer.start();
+        server.route("/health", exchange -> {
+            hits.incrementAndGet();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StubDmnServer.respond(exchange, status.getAsInt(), "{\"status\":\"ok\"}");
+        });
+        servers.add(server);
+        return server.getBaseUrl();
+    }
+}
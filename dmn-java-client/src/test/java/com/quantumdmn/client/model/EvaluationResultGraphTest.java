@@ -0,0 +1,107 @@
+package com.quantumdmn.client.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumdmn.client.ApiClient;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationResultGraphTest {
+
+    private static final String RESPONSE = "{"
+        + "\"Approval\":{\"decisionId\":\"d_approval\",\"name\":\"Approval\",\"type\":\"DECISION\",\"value\":\"APPROVED\","
+        + "\"hitRules\":[{\"ruleID\":\"r1\",\"outputs\":\"APPROVED\"}],"
+        + "\"dependencies\":[{\"decisionId\":\"d_score\",\"name\":\"Credit Score\",\"type\":\"DECISION\",\"value\":720,"
+        + "\"dependencies\":[{\"decisionId\":\"i_income\",\"name\":\"Income\",\"type\":\"INPUT_DATA\",\"value\":50000}]}]},"
+        + "\"Limit\":{\"decisionId\":\"d_limit\",\"name\":\"Limit\",\"type\":\"DECISION\",\"value\":null,\"error\":\"no rule matched\"}"
+        + "}";
+
+    // "Target" is a name at depth 2 and a decision ID at depth 1; "Shared" is a decision ID and a name at depth 1
+    private static final String DEEP_RESPONSE = "{"
+        + "\"A\":{\"decisionId\":\"d_a\",\"name\":\"A\",\"value\":1,\"dependencies\":["
+        + "{\"decisionId\":\"d_b\",\"name\":\"B\",\"value\":2,\"dependencies\":["
+        + "{\"decisionId\":\"d_x\",\"name\":\"Target\",\"value\":\"deep name\"}]},"
+        + "{\"decisionId\":\"Shared\",\"name\":\"S1\",\"value\":\"shared id\"}]},"
+        + "\"C\":{\"decisionId\":\"d_c\",\"name\":\"C\",\"value\":3,\"dependencies\":["
+        + "{\"decisionId\":\"Target\",\"name\":\"T\",\"value\":\"shallow id\"},"
+        + "{\"decisionId\":\"d_s2\",\"name\":\"Shared\",\"value\":\"shared name\"}]}"
+        + "}";
+
+    private final ObjectMapper mapper = new ApiClient().getObjectMapper();
+
+    @Test
+    void testFullModeIndexesNestedResults() throws IOException {
+        EvaluationResultGraph graph = parse(EvaluationResultGraph.ParseMode.FULL);
+
+        assertEquals(2, graph.getResults().size());
+        assertEquals("APPROVED", graph.getValue("Approval").asString());
+        assertEquals(720, graph.findByDecisionId("d_score").orElseThrow().getValue().asNumber().intValue());
+        assertEquals(50000, graph.getValue("Income").asNumber().intValue());
+        assertEquals("r1", graph.getResults().get("Approval").getHitRules().get(0).getRuleID());
+        assertTrue(graph.getValue("Limit").isNull());
+        assertEquals("no rule matched", graph.findByName("Limit").orElseThrow().getError());
+    }
+
+    @Test
+    void testDeferModeDecodesSubtreesOnDemand() throws IOException {
+        EvaluationResultGraph graph = parse(EvaluationResultGraph.ParseMode.DEFER);
+
+        assertEquals("APPROVED", graph.getValue("Approval").asString());
+        assertEquals(EvaluationResult.TypeEnum.INPUT_DATA, graph.findByDecisionId("i_income").orElseThrow().getType());
+
+        Map<String, EvaluationResult> converted = graph.toEvaluationResults();
+        EvaluationResult score = converted.get("Approval").getDependencies().get(0);
+        assertEquals("Credit Score", score.getName());
+        assertEquals(1, score.getDependencies().size());
+    }
+
+    @Test
+    void testDeferModeMaterializesOnlyUpToTheMatch() throws IOException {
+        EvaluationResultGraph graph = parse(EvaluationResultGraph.ParseMode.DEFER);
+        EvaluationResultGraph.Node approval = graph.getResults().get("Approval");
+
+        // top-level hits by name and by decision ID leave every subtree deferred
+        assertEquals("APPROVED", graph.getValue("Approval").asString());
+        assertEquals("APPROVED", graph.getValue("d_approval").asString());
+        assertTrue(graph.findByDecisionId("d_limit").isPresent());
+        assertTrue(approval.isDependenciesDeferred());
+
+        // a second-level hit decodes the first level only
+        assertEquals(720, graph.getValue("Credit Score").asNumber().intValue());
+        assertFalse(approval.isDependenciesDeferred());
+        assertTrue(approval.getDependencies().get(0).isDependenciesDeferred());
+
+        assertTrue(graph.findByName("Missing").isEmpty());
+        assertFalse(approval.getDependencies().get(0).isDependenciesDeferred());
+    }
+
+    @Test
+    void testFullAndDeferResolveToTheSameNode() throws IOException {
+        for (EvaluationResultGraph.ParseMode mode : List.of(EvaluationResultGraph.ParseMode.FULL, EvaluationResultGraph.ParseMode.DEFER)) {
+            EvaluationResultGraph graph = EvaluationResultGraph.parse(DEEP_RESPONSE.getBytes(StandardCharsets.UTF_8), mapper, mode);
+
+            assertEquals("shallow id", graph.getValue("Target").asString(), mode.name());
+            assertEquals("shared name", graph.getValue("Shared").asString(), mode.name());
+            assertEquals("deep name", graph.findByName("Target").orElseThrow().getValue().asString(), mode.name());
+            assertEquals("shared id", graph.findByDecisionId("Shared").orElseThrow().getValue().asString(), mode.name());
+        }
+    }
+
+    @Test
+    void testSkipModeKeepsOnlyTopLevelResults() throws IOException {
+        EvaluationResultGraph graph = parse(EvaluationResultGraph.ParseMode.SKIP);
+
+        assertEquals("APPROVED", graph.getValue("Approval").asString());
+        assertTrue(graph.findByName("Credit Score").isEmpty());
+        assertThrows(IllegalStateException.class, () -> graph.getResults().get("Approval").getDependencies());
+    }
+
+    private EvaluationResultGraph parse(EvaluationResultGraph.ParseMode mode) throws IOException {
+        return EvaluationResultGraph.parse(RESPONSE.getBytes(StandardCharsets.UTF_8), mapper, mode);
+    }
+}
@@ -1,12 +1,18 @@
 package com.quantumdmn.spring;
 
+import com.quantumdmn.client.DefinitionRegistry;
+import com.quantumdmn.client.DmnEngineRegistry;
 import com.quantumdmn.client.DmnService;
 import com.quantumdmn.client.auth.ZitadelTokenProvider;
+import com.quantumdmn.client.balancer.EndpointBalancer;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConfigurationCondition;
 
 import java.io.IOException;
 import java.util.function.Supplier;
@@ -16,15 +22,40 @@ import java.util.function.Supplier;
  * 
  * <p>Automatically configures a {@link DmnService} bean when:</p>
  * <ul>
- *   <li>{@code quantumdmn.base-url} is set</li>
+ *   <li>{@code quantumdmn.base-url} or {@code quantumdmn.base-urls} is set</li>
  *   <li>Either {@code quantumdmn.token} is set or a {@code Supplier<String>} bean named "dmnTokenProvider" exists</li>
  * </ul>
+ *
+ * <p>A {@link DefinitionRegistry} and a {@link DmnEngineRegistry} are always registered; a
+ * {@link DmnWarmup} listener is added when {@code quantumdmn.warmup.enabled=true}.</p>
  */
 @AutoConfiguration
 @EnableConfigurationProperties(DmnClientProperties.class)
-@ConditionalOnProperty(prefix = "quantumdmn", name = "base-url")
+@Conditional(DmnClientAutoConfiguration.OnBaseUrlCondition.class)
 public class DmnClientAutoConfiguration {
 
+    /**
+     * Matches when a single base URL or a list of base URLs is configured.
+     */
+    static class OnBaseUrlCondition extends AnyNestedCondition {
+
+        OnBaseUrlCondition() {
+            super(ConfigurationCondition.ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = "quantumdmn", name = "base-url")
+        static class BaseUrl {
+        }
+
+        @ConditionalOnProperty(prefix = "quantumdmn", name = "base-urls")
+        static class BaseUrls {
+        }
+
+        @ConditionalOnProperty(prefix = "quantumdmn", name = "base-urls[0]")
+        static class BaseUrlsIndexed {
+        }
+    }
+
     @Bean(name = "dmnTokenProvider")
     @ConditionalOnMissingBean(name = "dmnTokenProvider")
     @ConditionalOnProperty(prefix = "quantumdmn.auth.zitadel", name = "key-file")
@@ -42,6 +73,7 @@ public class DmnClientAutoConfiguration {
 
     /**
      * Creates a DmnService using a custom token provider bean if available.
+     * When {@code quantumdmn.base-urls} is set, requests are balanced across all listed replicas.
      */
     @Bean
     @ConditionalOnMissingBean
@@ -49,14 +81,67 @@ public class DmnClientAutoConfiguration {
                                   @org.springframework.beans.factory.annotation.Autowired(required = false) 
                                   @org.springframework.beans.factory.annotation.Qualifier("dmnTokenProvider") 
                                   Supplier<String> tokenProvider) {
+        Supplier<String> effectiveProvider;
         if (tokenProvider != null) {
-            return new DmnService(properties.getBaseUrl(), tokenProvider);
+            effectiveProvider = tokenProvider;
         } else if (properties.getToken() != null && !properties.getToken().isBlank()) {
-            return new DmnService(properties.getBaseUrl(), properties.getToken());
+            String token = properties.getToken();
+            effectiveProvider = () -> token;
         } else {
             throw new IllegalStateException(
                 "QuantumDMN configuration requires either 'quantumdmn.token' property or a 'dmnTokenProvider' bean"
             );
         }
+
+        if (properties.getBaseUrls() != null && !properties.getBaseUrls().isEmpty()) {
+            DmnClientProperties.LoadBalancing lb = properties.getLoadBalancing();
+            EndpointBalancer balancer = new EndpointBalancer(properties.getBaseUrls(), lb.getStrategy(),
+                lb.getHealthCheckInterval(), lb.getFailureThreshold(), lb.getEjectionTime());
+            return new DmnService(balancer, effectiveProvider);
+        }
+        return new DmnService(properties.getBaseUrl(), effectiveProvider);
+    }
+
+    /**
+     * Creates the shared definition metadata cache.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public DefinitionRegistry dmnDefinitionRegistry(DmnService dmnService, DmnClientProperties properties) {
+        return new DefinitionRegistry(dmnService, properties.getRegistry().getStaleAfter());
+    }
+
+    /**
+     * Creates per-project engines from {@code quantumdmn.projects.*}, each with its own bulkhead.
+     * Unlisted project UUIDs get engines with the limits from {@code quantumdmn.project-defaults}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DmnEngineRegistry dmnEngineRegistry(DmnService dmnService, DefinitionRegistry dmnDefinitionRegistry,
+                                               DmnClientProperties properties) {
+        DmnClientProperties.Project defaults = properties.getProjectDefaults();
+        DmnEngineRegistry registry = new DmnEngineRegistry(dmnService, dmnDefinitionRegistry,
+            defaults.getMaxConcurrent(), defaults.getMaxQueue(), defaults.getTimeout());
+        properties.getProjects().forEach((alias, project) -> {
+            if (project.getId() == null || project.getId().isBlank()) {
+                throw new IllegalStateException("quantumdmn.projects." + alias + ".id is required");
+            }
+            registry.register(alias, project.getId(), project.getMaxConcurrent(), project.getMaxQueue(), project.getTimeout());
+        });
+        return registry;
+    }
+
+    /**
+     * Warms up token, connections and definitions on {@code ApplicationReadyEvent}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "quantumdmn.warmup", name = "enabled", havingValue = "true")
+    public DmnWarmup dmnWarmup(DmnService dmnService, DefinitionRegistry dmnDefinitionRegistry,
+                               DmnClientProperties properties,
+                               @org.springframework.beans.factory.annotation.Autowired(required = false)
+                               @org.springframework.beans.factory.annotation.Qualifier("dmnTokenProvider")
+                               Supplier<String> tokenProvider) {
+        return new DmnWarmup(dmnService, dmnDefinitionRegistry, tokenProvider, properties.getWarmup());
     }
 }
@@ -1,7 +1,14 @@
 package com.quantumdmn.spring;
 
+import com.quantumdmn.client.balancer.EndpointBalancer;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for QuantumDMN client.
  * 
@@ -9,7 +16,18 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * <pre>
  * quantumdmn:
  *   base-url: https://api.quantumdmn.com
+ *   # base-urls: [https://dmn-a.internal, https://dmn-b.internal]  # client-side load balancing
  *   token: your-static-token  # or use token-provider bean
+ *   project-defaults:
+ *     max-concurrent: 8
+ *   projects:
+ *     loans:
+ *       id: your-dmn-project-uuid
+ *       max-concurrent: 16
+ *   warmup:
+ *     enabled: true
+ *     project-id: your-dmn-project-uuid
+ *     definitions: [loan-approval]
  * </pre>
  */
 @ConfigurationProperties(prefix = "quantumdmn")
@@ -19,6 +37,11 @@ public class DmnClientProperties {
      * API base URL (e.g., https://api.quantumdmn.com)
      */
     private String baseUrl = "https://api.quantumdmn.com";
+
+    /**
+     * Base URLs of several self-hosted replicas; when set, requests are balanced client-side and base-url is ignored
+     */
+    private List<String> baseUrls = new ArrayList<>();
     
     /**
      * Static bearer token (optional, use TokenProvider bean for dynamic tokens)
@@ -33,6 +56,14 @@ public class DmnClientProperties {
         this.baseUrl = baseUrl;
     }
 
+    public List<String> getBaseUrls() {
+        return baseUrls;
+    }
+
+    public void setBaseUrls(List<String> baseUrls) {
+        this.baseUrls = baseUrls;
+    }
+
     public String getToken() {
         return token;
     }
@@ -53,6 +84,302 @@ public class DmnClientProperties {
         this.auth = auth;
     }
 
+    /**
+     * Client-side load balancing configuration (used with base-urls)
+     */
+    private LoadBalancing loadBalancing = new LoadBalancing();
+
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    public void setLoadBalancing(LoadBalancing loadBalancing) {
+        this.loadBalancing = loadBalancing;
+    }
+
+    /**
+     * Projects served by the DmnEngineRegistry bean, keyed by alias
+     */
+    private Map<String, Project> projects = new LinkedHashMap<>();
+
+    public Map<String, Project> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(Map<String, Project> projects) {
+        this.projects = projects;
+    }
+
+    /**
+     * Bulkhead limits for projects that are not listed under {@code projects} (the id is ignored)
+     */
+    private Project projectDefaults = new Project();
+
+    public Project getProjectDefaults() {
+        return projectDefaults;
+    }
+
+    public void setProjectDefaults(Project projectDefaults) {
+        this.projectDefaults = projectDefaults;
+    }
+
+    /**
+     * Definition registry configuration
+     */
+    private Registry registry = new Registry();
+
+    public Registry getRegistry() {
+        return registry;
+    }
+
+    public void setRegistry(Registry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Startup warm-up configuration
+     */
+    private Warmup warmup = new Warmup();
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    public static class Project {
+        /**
+         * DMN project UUID
+         */
+        private String id;
+
+        /**
+         * Maximum concurrent evaluations for this project
+         */
+        private int maxConcurrent = 16;
+
+        /**
+         * Maximum evaluations waiting for a permit
+         */
+        private int maxQueue = 64;
+
+        /**
+         * Maximum time an evaluation waits for a permit
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class LoadBalancing {
+        /**
+         * How to pick between two candidate endpoints
+         */
+        private EndpointBalancer.Strategy strategy = EndpointBalancer.Strategy.LEAST_LATENCY;
+
+        /**
+         * Interval between /health probes (0 disables probing)
+         */
+        private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+        /**
+         * Consecutive failures after which an endpoint is ejected
+         */
+        private int failureThreshold = 3;
+
+        /**
+         * How long an ejected endpoint is skipped unless a probe succeeds earlier
+         */
+        private Duration ejectionTime = Duration.ofSeconds(30);
+
+        public EndpointBalancer.Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(EndpointBalancer.Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getEjectionTime() {
+            return ejectionTime;
+        }
+
+        public void setEjectionTime(Duration ejectionTime) {
+            this.ejectionTime = ejectionTime;
+        }
+    }
+
+    public static class Registry {
+        /**
+         * How long a resolved "latest" definition version is reused before it is re-resolved
+         */
+        private Duration staleAfter = Duration.ofSeconds(30);
+
+        public Duration getStaleAfter() {
+            return staleAfter;
+        }
+
+        public void setStaleAfter(Duration staleAfter) {
+            this.staleAfter = staleAfter;
+        }
+    }
+
+    public static class Warmup {
+        /**
+         * Run the warm-up phase once the application is ready
+         */
+        private boolean enabled = false;
+
+        /**
+         * Run the warm-up synchronously so readiness is only reported after it finishes
+         */
+        private boolean blockReadiness = false;
+
+        /**
+         * DMN project used to preload definitions and run synthetic evaluations
+         */
+        private String projectId;
+
+        /**
+         * XML definition IDs to preload into the definition registry
+         */
+        private List<String> definitions = new ArrayList<>();
+
+        /**
+         * Synthetic evaluations sent to warm up the JIT and serialization caches (recorded as regular executions)
+         */
+        private List<Evaluation> evaluations = new ArrayList<>();
+
+        /**
+         * How many times each synthetic evaluation is sent
+         */
+        private int iterations = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isBlockReadiness() {
+            return blockReadiness;
+        }
+
+        public void setBlockReadiness(boolean blockReadiness) {
+            this.blockReadiness = blockReadiness;
+        }
+
+        public String getProjectId() {
+            return projectId;
+        }
+
+        public void setProjectId(String projectId) {
+            this.projectId = projectId;
+        }
+
+        public List<String> getDefinitions() {
+            return definitions;
+        }
+
+        public void setDefinitions(List<String> definitions) {
+            this.definitions = definitions;
+        }
+
+        public List<Evaluation> getEvaluations() {
+            return evaluations;
+        }
+
+        public void setEvaluations(List<Evaluation> evaluations) {
+            this.evaluations = evaluations;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        public static class Evaluation {
+            /**
+             * XML definition ID to evaluate
+             */
+            private String xmlId;
+
+            /**
+             * Input context of the synthetic evaluation
+             */
+            private Map<String, Object> context = new LinkedHashMap<>();
+
+            public String getXmlId() {
+                return xmlId;
+            }
+
+            public void setXmlId(String xmlId) {
+                this.xmlId = xmlId;
+            }
+
+            public Map<String, Object> getContext() {
+                return context;
+            }
+
+            public void setContext(Map<String, Object> context) {
+                this.context = context;
+            }
+        }
+    }
+
     public static class Auth {
         private Zitadel zitadel = new Zitadel();
 
@@ -0,0 +1,106 @@
+package com.quantumdmn.spring;
+
+import com.quantumdmn.client.DefinitionRegistry;
+import com.quantumdmn.client.DmnEngine;
+import com.quantumdmn.client.DmnService;
+import com.quantumdmn.client.balancer.Endpoint;
+import com.quantumdmn.client.balancer.EndpointBalancer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Warms up the QuantumDMN client once the application is ready.
+ *
+ * <p>Fetches the first access token, opens the HTTP connection with {@code GetHealth} (one per endpoint
+ * when {@code quantumdmn.base-urls} lists several replicas), preloads the
+ * configured definitions into the {@link DefinitionRegistry} and sends the configured synthetic
+ * evaluations. Spring Boot reports readiness only after {@link ApplicationReadyEvent} listeners return,
+ * so with {@code quantumdmn.warmup.block-readiness=true} the pod takes traffic only once warm; otherwise
+ * the warm-up runs on a background thread.</p>
+ *
+ * <p>Each step is best-effort: failures are logged and the remaining steps still run.</p>
+ */
+public class DmnWarmup implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Log LOG = LogFactory.getLog(DmnWarmup.class);
+
+    private final DmnService service;
+    private final DefinitionRegistry registry;
+    private final Supplier<String> tokenProvider;
+    private final DmnClientProperties.Warmup warmup;
+
+    public DmnWarmup(DmnService service, DefinitionRegistry registry, Supplier<String> tokenProvider,
+                     DmnClientProperties.Warmup warmup) {
+        this.service = service;
+        this.registry = registry;
+        this.tokenProvider = tokenProvider;
+        this.warmup = warmup;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (warmup.isBlockReadiness()) {
+            run();
+        } else {
+            Thread thread = new Thread(this::run, "dmn-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Runs all warm-up steps on the calling thread.
+     */
+    public void run() {
+        long start = System.nanoTime();
+
+        if (tokenProvider != null) {
+            step("fetch access token", tokenProvider::get);
+        }
+        EndpointBalancer balancer = service.getBalancer();
+        if (balancer == null) {
+            step("open connection", () -> service.getApi().getHealth());
+        } else {
+            for (Endpoint endpoint : balancer.getEndpoints()) {
+                step("open connection to " + endpoint.getBaseUri(), () -> balancer.probe(endpoint).join());
+            }
+        }
+
+        UUID projectId = warmup.getProjectId() != null ? UUID.fromString(warmup.getProjectId()) : null;
+        if (projectId == null) {
+            if (!warmup.getDefinitions().isEmpty() || !warmup.getEvaluations().isEmpty()) {
+                LOG.warn("quantumdmn.warmup.project-id is not set, skipping definition preload and synthetic evaluations");
+            }
+        } else {
+            for (String xmlId : warmup.getDefinitions()) {
+                step("preload definition " + xmlId, () -> registry.getDefinition(projectId, xmlId, null));
+            }
+            DmnEngine engine = new DmnEngine(service, projectId.toString(), registry);
+            for (int i = 0; i < warmup.getIterations(); i++) {
+                for (DmnClientProperties.Warmup.Evaluation evaluation : warmup.getEvaluations()) {
+                    step("evaluate " + evaluation.getXmlId(), () -> engine.evaluate(evaluation.getXmlId(), evaluation.getContext()));
+                }
+            }
+        }
+
+        LOG.info("QuantumDMN warm-up finished in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void step(String description, WarmupStep step) {
+        try {
+            step.run();
+        } catch (Exception e) {
+            LOG.warn("QuantumDMN warm-up step '" + description + "' failed", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
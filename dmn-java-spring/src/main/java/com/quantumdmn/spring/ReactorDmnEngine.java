@@ -0,0 +1,45 @@
+package com.quantumdmn.spring;
+
+import com.quantumdmn.client.DmnEngine;
+import com.quantumdmn.client.model.EvaluationResult;
+import org.reactivestreams.Publisher;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Reactor adapters for {@link DmnEngine}.
+ *
+ * <p>Requires {@code io.projectreactor:reactor-core} on the classpath (optional dependency of this starter).</p>
+ *
+ * <pre>{@code
+ * Flux<Map<String, EvaluationResult>> results = ReactorDmnEngine.evaluateAll(engine, "decision-xml-id", inputs);
+ * }</pre>
+ */
+public final class ReactorDmnEngine {
+
+    private ReactorDmnEngine() {
+        // utility class
+    }
+
+    /**
+     * Evaluates every input context with demand-driven backpressure, see {@link DmnEngine#evaluateAll}.
+     */
+    public static Flux<Map<String, EvaluationResult>> evaluateAll(DmnEngine engine, String xmlId,
+                                                                  Publisher<? extends Map<String, Object>> inputs,
+                                                                  DmnEngine.EvaluateOption... options) {
+        return JdkFlowAdapter.flowPublisherToFlux(
+            engine.evaluateAll(xmlId, JdkFlowAdapter.publisherToFlowPublisher(inputs), options));
+    }
+
+    /**
+     * Evaluates a single context; cancelling the subscription aborts the HTTP request.
+     */
+    public static Mono<Map<String, EvaluationResult>> evaluate(DmnEngine engine, String xmlId,
+                                                               Map<String, Object> evaluationContext,
+                                                               DmnEngine.EvaluateOption... options) {
+        return Mono.fromFuture(() -> engine.evaluateAsync(xmlId, evaluationContext, options));
+    }
+}
@@ -0,0 +1,75 @@
+package com.quantumdmn.spring;
+
+import com.quantumdmn.client.Bulkhead;
+import com.quantumdmn.client.DmnEngineRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DmnClientAutoConfigurationTest {
+
+    private static final String LOANS_ID = "6f1c2a44-3f0e-4c1a-9d65-0c5b2e8f4a10";
+    private static final String CARDS_ID = "9b2d7e61-0c4a-4f3e-8a15-7d6e5f4c3b21";
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(DmnClientAutoConfiguration.class))
+        .withPropertyValues("quantumdmn.base-url=http://127.0.0.1:1", "quantumdmn.token=test-token");
+
+    @Test
+    void testRegistersConfiguredProjects() {
+        runner.withPropertyValues(
+            "quantumdmn.projects.loans.id=" + LOANS_ID,
+            "quantumdmn.projects.loans.max-concurrent=3",
+            "quantumdmn.projects.loans.max-queue=5",
+            "quantumdmn.projects.loans.timeout=2s",
+            "quantumdmn.project-defaults.max-concurrent=7",
+            "quantumdmn.project-defaults.max-queue=0"
+        ).run(context -> {
+            DmnEngineRegistry engines = context.getBean(DmnEngineRegistry.class);
+            assertEquals(1, engines.getRegisteredEngines().size());
+
+            Bulkhead loans = engines.getEngine("loans").getBulkhead();
+            assertSame(engines.getEngine("loans"), engines.getEngine(LOANS_ID));
+            assertEquals(3, loans.getMaxConcurrent());
+            assertEquals(5, loans.getMaxQueue());
+            assertEquals(Duration.ofSeconds(2), loans.getMaxWait());
+
+            Bulkhead cards = engines.getEngine(CARDS_ID).getBulkhead();
+            assertEquals(7, cards.getMaxConcurrent());
+            assertEquals(0, cards.getMaxQueue());
+        });
+    }
+
+    @Test
+    void testUnlistedProjectsUseBuiltInDefaults() {
+        runner.run(context -> {
+            DmnEngineRegistry engines = context.getBean(DmnEngineRegistry.class);
+            DmnClientProperties.Project defaults = new DmnClientProperties.Project();
+
+            Bulkhead cards = engines.getEngine(CARDS_ID).getBulkhead();
+            assertTrue(engines.getRegisteredEngines().isEmpty());
+            assertEquals(defaults.getMaxConcurrent(), cards.getMaxConcurrent());
+            assertEquals(defaults.getMaxQueue(), cards.getMaxQueue());
+            assertEquals(defaults.getTimeout(), cards.getMaxWait());
+        });
+    }
+
+    @Test
+    void testProjectWithoutIdFailsStartup() {
+        runner.withPropertyValues("quantumdmn.projects.loans.max-concurrent=3").run(context -> {
+            assertNotNull(context.getStartupFailure());
+            assertTrue(rootCause(context.getStartupFailure()).getMessage().contains("quantumdmn.projects.loans.id"));
+        });
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
+        while (throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -25,4 +25,14 @@ class DmnClientPropertiesTest {
         props.setToken("test-token");
         assertEquals("test-token", props.getToken());
     }
+
+    @Test
+    void testWarmupDefaults() {
+        DmnClientProperties props = new DmnClientProperties();
+        assertFalse(props.getWarmup().isEnabled());
+        assertFalse(props.getWarmup().isBlockReadiness());
+        assertEquals(1, props.getWarmup().getIterations());
+        assertTrue(props.getWarmup().getDefinitions().isEmpty());
+        assertTrue(props.getWarmup().getEvaluations().isEmpty());
+    }
 }
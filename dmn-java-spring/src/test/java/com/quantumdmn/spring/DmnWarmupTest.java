@@ -0,0 +1,159 @@
+package com.quantumdmn.spring;
+
+import com.quantumdmn.client.DefinitionRegistry;
+import com.quantumdmn.client.DmnService;
+import com.quantumdmn.client.StubDmnServer;
+import com.quantumdmn.client.balancer.EndpointBalancer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DmnWarmupTest {
+
+    private static final String PROJECT_ID = "6f1c2a44-3f0e-4c1a-9d65-0c5b2e8f4a10";
+    private static final UUID LOAN_ID = UUID.fromString("0d6c1f0e-8a57-4f61-b5e3-2f9d7c4a1b22");
+
+    private StubDmnServer server;
+    private DmnService service;
+    private DefinitionRegistry registry;
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final List<Thread> tokenThreads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StubDmnServer.start();
+        server.route("/health", exchange -> {
+            calls.add("health");
+            StubDmnServer.respond(exchange, "{\"status\":\"ok\"}");
+        });
+        server.route("/projects/" + PROJECT_ID + "/definitions", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/evaluate")) {
+                calls.add("evaluate " + StubDmnServer.readBody(exchange).replaceAll(".*\"amount\":(\\d+).*", "$1"));
+                StubDmnServer.respond(exchange, "{\"Approval\":{\"name\":\"Approval\",\"value\":\"APPROVED\"}}");
+            } else if (path.endsWith("/by-xml-id/loan")) {
+                calls.add("definition loan");
+                StubDmnServer.respond(exchange, StubDmnServer.definitionJson(LOAN_ID, "loan", 1));
+            } else {
+                calls.add("definition " + path.substring(path.lastIndexOf('/') + 1));
+                StubDmnServer.respond(exchange, 500, "{\"error\":\"unavailable\"}");
+            }
+        });
+        service = server.newService();
+        registry = new DefinitionRegistry(service, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void stopServer() {
+        registry.close();
+        server.close();
+        service.close();
+    }
+
+    @Test
+    void testRunsAllStepsInOrderAndContinuesAfterFailures() {
+        DmnClientProperties.Warmup warmup = warmup(true);
+
+        newWarmup(warmup).run();
+
+        assertEquals(List.of("token", "health", "definition broken", "definition loan",
+            "definition broken", "evaluate 1000", "definition broken", "evaluate 1000"), calls);
+        assertTrue(registry.getDefinitionAsync(UUID.fromString(PROJECT_ID), "loan", null).isDone());
+        assertEquals(LOAN_ID, registry.getDefinitionAsync(UUID.fromString(PROJECT_ID), "loan", null).join().getId());
+    }
+
+    @Test
+    void testBlockReadinessRunsOnCallingThread() {
+        newWarmup(warmup(true)).onApplicationEvent(readyEvent());
+
+        assertEquals(List.of(Thread.currentThread()), tokenThreads);
+        assertEquals(2, calls.stream().filter(call -> call.startsWith("evaluate")).count());
+    }
+
+    @Test
+    void testRunsInBackgroundByDefault() throws InterruptedException {
+        DmnClientProperties.Warmup warmup = warmup(false);
+        warmup.setDefinitions(List.of());
+        warmup.setEvaluations(List.of());
+
+        newWarmup(warmup).onApplicationEvent(readyEvent());
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(1, tokenThreads.size());
+        assertEquals("dmn-warmup", tokenThreads.get(0).getName());
+    }
+
+    @Test
+    void testOpensConnectionToEveryEndpoint() throws IOException {
+        List<String> replicaCalls = new CopyOnWriteArrayList<>();
+        try (StubDmnServer replica = StubDmnServer.start()) {
+            replica.route("/health", exchange -> {
+                replicaCalls.add("health");
+                StubDmnServer.respond(exchange, "{\"status\":\"ok\"}");
+            });
+            EndpointBalancer balancer = new EndpointBalancer(List.of(server.getBaseUrl(), replica.getBaseUrl()),
+                EndpointBalancer.Strategy.LEAST_LATENCY, Duration.ZERO, 3, Duration.ofSeconds(30));
+            service.close();
+            service = new DmnService(balancer, () -> "test-token");
+            DmnClientProperties.Warmup warmup = warmup(true);
+            warmup.setDefinitions(List.of());
+            warmup.setEvaluations(List.of());
+
+            newWarmup(warmup).run();
+
+            assertEquals(List.of("token", "health"), calls);
+            assertEquals(List.of("health"), replicaCalls);
+            assertTrue(balancer.getEndpoints().stream().allMatch(endpoint -> endpoint.getLatencyEwmaMillis() > 0));
+        }
+    }
+
+    private DmnWarmup newWarmup(DmnClientProperties.Warmup warmup) {
+        Supplier<String> tokenProvider = () -> {
+            calls.add("token");
+            tokenThreads.add(Thread.currentThread());
+            return "test-token";
+        };
+        return new DmnWarmup(service, registry, tokenProvider, warmup) {
+            @Override
+            public void run() {
+                super.run();
+                finished.countDown();
+            }
+        };
+    }
+
+    private static DmnClientProperties.Warmup warmup(boolean blockReadiness) {
+        DmnClientProperties.Warmup warmup = new DmnClientProperties.Warmup();
+        warmup.setEnabled(true);
+        warmup.setBlockReadiness(blockReadiness);
+        warmup.setProjectId(PROJECT_ID);
+        warmup.setDefinitions(List.of("broken", "loan"));
+        warmup.setIterations(2);
+        DmnClientProperties.Warmup.Evaluation broken = new DmnClientProperties.Warmup.Evaluation();
+        broken.setXmlId("broken");
+        DmnClientProperties.Warmup.Evaluation loan = new DmnClientProperties.Warmup.Evaluation();
+        loan.setXmlId("loan");
+        loan.setContext(Map.of("amount", 1000));
+        warmup.setEvaluations(List.of(broken, loan));
+        return warmup;
+    }
+
+    private static ApplicationReadyEvent readyEvent() {
+        return new ApplicationReadyEvent(new SpringApplication(), new String[0], null, Duration.ZERO);
+    }
+}